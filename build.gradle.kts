@@ -1,6 +1,44 @@
 plugins {
     id("java")
+    id("me.champeau.jmh") version "0.6.8"
 }
 
 group = "me.craftinators"
-version = "1.0-SNAPSHOT"
\ No newline at end of file
+version = "1.0-SNAPSHOT"
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    testImplementation(platform("org.junit:junit-bom:5.10.2"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+// The vector noise backend uses the incubating Vector API.
+val incubatorModules = listOf("--add-modules", "jdk.incubator.vector")
+
+tasks.withType<JavaCompile> {
+    options.compilerArgs.addAll(incubatorModules)
+}
+
+tasks.withType<JavaExec> {
+    jvmArgs(incubatorModules)
+}
+
+tasks.withType<Test> {
+    useJUnitPlatform()
+    jvmArgs(incubatorModules)
+}
+
+jmh {
+    jmhVersion.set("1.36")
+    benchmarkMode.set(listOf("thrpt"))
+    timeUnit.set("s")
+    profilers.set(listOf("gc"))
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    jvmArgsAppend.set(incubatorModules)
+}
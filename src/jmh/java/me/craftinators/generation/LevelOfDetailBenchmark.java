@@ -0,0 +1,61 @@
+package me.craftinators.generation;
+
+import me.craftinators.math.Long2;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks zoomed-out views of {@link LayeredNoiseGenerator} noise: the full octave stack against
+ * {@link LayeredNoiseGenerator#fillFilteredGrid}, and generating a {@link NoiseTilePyramid} level from scratch
+ * against generating it from the cached level below.
+ */
+@State(Scope.Thread)
+public class LevelOfDetailBenchmark {
+    private static final long SEED = 0x5EED;
+    private static final int SIZE = 128, OCTAVES = 8;
+
+    @Param({"0.01", "0.1", "0.5"})
+    private double step;
+
+    private LayeredNoiseGenerator layered;
+    private double[] view;
+
+    @Setup
+    public void setup() {
+        layered = new LayeredNoiseGenerator(SEED, OCTAVES, 2, 0.5, LayeredNoiseGenerator.Type.FBM);
+        view = new double[SIZE * SIZE];
+    }
+
+    @Benchmark
+    public double[] full() {
+        layered.fillGrid(view, 0, SIZE, 0, 0, step, step, SIZE, SIZE);
+        return view;
+    }
+
+    @Benchmark
+    public double[] filtered() {
+        layered.fillFilteredGrid(view, 0, SIZE, 0, 0, step, step, SIZE, SIZE);
+        return view;
+    }
+
+    /**
+     * Level 1 of a fresh pyramid, with or without level 0 cached beforehand.
+     */
+    @State(Scope.Thread)
+    public static class PyramidState {
+        @Param({"false", "true"})
+        private boolean finerCached;
+
+        private NoiseTilePyramid pyramid;
+
+        @Setup(Level.Invocation)
+        public void setup(LevelOfDetailBenchmark benchmark) {
+            pyramid = new NoiseTilePyramid(benchmark.layered, SIZE, benchmark.step / 2, 2, new NoiseTileCache(1L << 24, 1));
+            if (finerCached) for (int quadrant = 0; quadrant < 4; quadrant++) pyramid.getTile(0, Long2.of(quadrant & 1, quadrant >> 1));
+        }
+    }
+
+    @Benchmark
+    public NoiseTile pyramidZoomOut(PyramidState state) {
+        return state.pyramid.getTile(1, Long2.ZERO);
+    }
+}
@@ -0,0 +1,129 @@
+package me.craftinators.generation;
+
+import me.craftinators.math.Double2;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+
+/**
+ * Benchmarks single point and region sampling of the noise generators.
+ */
+@State(Scope.Thread)
+public class NoiseBenchmark {
+    private static final long SEED = 0x5EED;
+    private static final int POINTS = 1024;
+    private static final int TILE_SIZE = 64;
+
+    private SuperSimplexNoiseGenerator simplex;
+    private Double2[] points;
+    private double[] tile;
+    private float[] floatTile;
+    private short[] shortTile;
+    private final double[] derivatives = new double[2];
+
+    @Setup
+    public void setup() {
+        simplex = new SuperSimplexNoiseGenerator(SEED);
+        final SplittableRandom random = new SplittableRandom(SEED);
+        points = new Double2[POINTS];
+        for (int i = 0; i < POINTS; i++) points[i] = Double2.of(random.nextDouble(-1000, 1000), random.nextDouble(-1000, 1000));
+        tile = new double[TILE_SIZE * TILE_SIZE];
+        floatTile = new float[TILE_SIZE * TILE_SIZE];
+        shortTile = new short[TILE_SIZE * TILE_SIZE];
+    }
+
+    /**
+     * The octave stack, kept apart so only the benchmarks using it run once per octave count.
+     */
+    @State(Scope.Thread)
+    public static class LayeredState {
+        @Param({"1", "4", "8"})
+        private int octaves;
+
+        private LayeredNoiseGenerator generator;
+
+        @Setup
+        public void setup() {
+            generator = new LayeredNoiseGenerator(SEED, octaves, 2, 0.5, LayeredNoiseGenerator.Type.FBM);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public void at(Blackhole blackhole) {
+        for (Double2 point : points) blackhole.consume(simplex.at(point));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public void noise(Blackhole blackhole) {
+        for (Double2 point : points) blackhole.consume(simplex.noise(point.getX(), point.getY()));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public void derivatives(LayeredState state, Blackhole blackhole) {
+        for (Double2 point : points) {
+            blackhole.consume(state.generator.noise(point.getX(), point.getY(), derivatives));
+            blackhole.consume(derivatives[0]);
+            blackhole.consume(derivatives[1]);
+        }
+    }
+
+    /**
+     * Baseline for {@link #derivatives(LayeredState, Blackhole)}, estimating the slope with forward differences.
+     */
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public void finiteDifferences(LayeredState state, Blackhole blackhole) {
+        for (Double2 point : points) {
+            final double x = point.getX(), y = point.getY();
+            final double value = state.generator.noise(x, y);
+            blackhole.consume(value);
+            blackhole.consume((state.generator.noise(x + 1e-4, y) - value) / 1e-4);
+            blackhole.consume((state.generator.noise(x, y + 1e-4) - value) / 1e-4);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TILE_SIZE * TILE_SIZE)
+    public double[] fillGrid() {
+        simplex.fillGrid(tile, 12.5, -40.25, 0.03125, TILE_SIZE, TILE_SIZE);
+        return tile;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TILE_SIZE * TILE_SIZE)
+    public float[] floatFillGrid() {
+        simplex.fillGrid(floatTile, 0, TILE_SIZE, 12.5, -40.25, 0.03125, 0.03125, TILE_SIZE, TILE_SIZE);
+        return floatTile;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TILE_SIZE * TILE_SIZE)
+    public short[] shortFillGrid() {
+        simplex.fillGrid(shortTile, QuantizationRange.NOISE, 0, TILE_SIZE, 12.5, -40.25, 0.03125, 0.03125, TILE_SIZE, TILE_SIZE);
+        return shortTile;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TILE_SIZE * TILE_SIZE)
+    public double[] vectorFillGrid() {
+        NoiseBackend.VECTOR.fillGrid(simplex, tile, 0, TILE_SIZE, 12.5, -40.25, 0.03125, 0.03125, TILE_SIZE, TILE_SIZE);
+        return tile;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public void layered(LayeredState state, Blackhole blackhole) {
+        for (Double2 point : points) blackhole.consume(state.generator.noise(point.getX(), point.getY()));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TILE_SIZE * TILE_SIZE)
+    public double[] layeredFillGrid(LayeredState state) {
+        state.generator.fillGrid(tile, 12.5, -40.25, 0.03125, TILE_SIZE, TILE_SIZE);
+        return tile;
+    }
+}
@@ -0,0 +1,54 @@
+package me.craftinators.generation;
+
+import me.craftinators.math.Double2;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks a domain warped region built from {@link NoiseSource} stages against one built from {@link SuperSimplexNoiseGenerator#at(Double2)} calls.
+ */
+@State(Scope.Thread)
+public class PipelineBenchmark {
+    private static final long SEED = 0x5EED;
+    private static final int TILE_SIZE = 64;
+    private static final double STEP = 0.03125, STRENGTH = 4;
+
+    private SuperSimplexNoiseGenerator base, warpX, warpY;
+    private NoiseSource warped;
+    private double[] tile;
+
+    @Setup
+    public void setup() {
+        base = new SuperSimplexNoiseGenerator(SEED);
+        warpX = new SuperSimplexNoiseGenerator(SEED + 1);
+        warpY = new SuperSimplexNoiseGenerator(SEED + 2);
+        warped = base.warp(warpX, warpY, STRENGTH);
+        tile = new double[TILE_SIZE * TILE_SIZE];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TILE_SIZE * TILE_SIZE)
+    public double[] warpFused() {
+        warped.fillGrid(tile, 0, TILE_SIZE, 12.5, -40.25, STEP, STEP, TILE_SIZE, TILE_SIZE);
+        return tile;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TILE_SIZE * TILE_SIZE)
+    public double[] warpAt() {
+        for (int j = 0; j < TILE_SIZE; j++) {
+            for (int i = 0; i < TILE_SIZE; i++) {
+                final Double2 point = Double2.of(12.5 + i * STEP, -40.25 + j * STEP);
+                tile[j * TILE_SIZE + i] = base.at(point.add(Double2.of(warpX.at(point) * STRENGTH, warpY.at(point) * STRENGTH)));
+            }
+        }
+        return tile;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TILE_SIZE * TILE_SIZE)
+    public double[] galaxy() {
+        warped.fractal(3, 2, 0.5).remap(-1, 1, 0, 1).clamp(0.1, 0.9)
+                .fillGrid(tile, 0, TILE_SIZE, 12.5, -40.25, STEP, STEP, TILE_SIZE, TILE_SIZE);
+        return tile;
+    }
+}
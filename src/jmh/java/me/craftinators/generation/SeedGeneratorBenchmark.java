@@ -0,0 +1,34 @@
+package me.craftinators.generation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Benchmarks seed generation, alone and under contention.
+ */
+public class SeedGeneratorBenchmark {
+    @Benchmark
+    @Threads(1)
+    public long generate() {
+        return SeedGenerator.generate();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long generateContended() {
+        return SeedGenerator.generate();
+    }
+
+    @Benchmark
+    @Threads(8)
+    @OperationsPerInvocation(64)
+    public long[] generateBulkContended() {
+        return SeedGenerator.generate(64);
+    }
+
+    @Benchmark
+    public long generateFromString() {
+        return SeedGenerator.generate("SpaceCompany");
+    }
+}
@@ -0,0 +1,43 @@
+package me.craftinators.generation;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks scrolling a {@link NoiseViewport} against regenerating the whole view.
+ */
+@State(Scope.Thread)
+public class ViewportBenchmark {
+    private static final long SEED = 0x5EED;
+    private static final int SIZE = 256;
+    private static final double STEP = 0.03125;
+
+    @Param({"1", "8"})
+    private int delta;
+
+    private SuperSimplexNoiseGenerator simplex;
+    private NoiseViewport viewport;
+    private double[] view;
+    private long frame;
+
+    @Setup
+    public void setup() {
+        simplex = new SuperSimplexNoiseGenerator(SEED);
+        viewport = new NoiseViewport(simplex, SIZE, SIZE, STEP, 0, 0);
+        view = new double[SIZE * SIZE];
+    }
+
+    @Benchmark
+    public NoiseViewport scroll() {
+        viewport.move(delta, delta);
+        NoiseViewport.Strip strip;
+        while ((strip = viewport.pollDirty()) != null) viewport.copy(strip, view, 0, strip.getWidth());
+        return viewport;
+    }
+
+    @Benchmark
+    public double[] regenerate() {
+        final long origin = ++frame * delta;
+        simplex.fillGrid(view, origin * STEP, origin * STEP, STEP, SIZE, SIZE);
+        return view;
+    }
+}
@@ -0,0 +1,59 @@
+package me.craftinators.generation;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+
+/**
+ * Benchmarks the 3D and 4D noise generators.
+ */
+@State(Scope.Thread)
+public class VolumeNoiseBenchmark {
+    private static final long SEED = 0x5EED;
+    private static final int POINTS = 1024;
+    private static final int VOLUME_SIZE = 32;
+    private static final int TILE_SIZE = 64;
+
+    private SuperSimplexNoiseGenerator3D simplex3D;
+    private SuperSimplexNoiseGenerator4D simplex4D;
+    private double[] points;
+    private double[] volume, tile;
+
+    @Setup
+    public void setup() {
+        simplex3D = new SuperSimplexNoiseGenerator3D(SEED);
+        simplex4D = new SuperSimplexNoiseGenerator4D(SEED);
+        final SplittableRandom random = new SplittableRandom(SEED);
+        points = new double[POINTS * 4];
+        for (int i = 0; i < points.length; i++) points[i] = random.nextDouble(-1000, 1000);
+        volume = new double[VOLUME_SIZE * VOLUME_SIZE * VOLUME_SIZE];
+        tile = new double[TILE_SIZE * TILE_SIZE];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public void noise3D(Blackhole blackhole) {
+        for (int i = 0; i < points.length; i += 4) blackhole.consume(simplex3D.noise(points[i], points[i + 1], points[i + 2]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public void noise4D(Blackhole blackhole) {
+        for (int i = 0; i < points.length; i += 4) blackhole.consume(simplex4D.noise(points[i], points[i + 1], points[i + 2], points[i + 3]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VOLUME_SIZE * VOLUME_SIZE * VOLUME_SIZE)
+    public double[] fillVolume() {
+        simplex3D.fillVolume(volume, 0, 12.5, -40.25, 3.75, 0.0625, VOLUME_SIZE, VOLUME_SIZE, VOLUME_SIZE);
+        return volume;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TILE_SIZE * TILE_SIZE)
+    public double[] fillSeamless() {
+        simplex4D.fillSeamless(tile, 0, TILE_SIZE, 0.03125, TILE_SIZE, TILE_SIZE);
+        return tile;
+    }
+}
@@ -0,0 +1,73 @@
+package me.craftinators.math;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+
+/**
+ * Benchmarks {@link SpatialHashGrid} queries against a brute-force scan over every point.
+ */
+@State(Scope.Thread)
+public class SpatialHashGridBenchmark {
+    private static final long SEED = 0x5EED;
+    private static final double WORLD_SIZE = 10_000, RADIUS = 20;
+
+    @Param({"10000", "50000"})
+    private int points;
+
+    private SpatialHashGrid grid;
+    private double[] xs, ys;
+    private int[] ids;
+    private double[] squareDistances;
+    private int query;
+
+    @Setup
+    public void setup() {
+        grid = new SpatialHashGrid(RADIUS);
+        final SplittableRandom random = new SplittableRandom(SEED);
+        xs = new double[points];
+        ys = new double[points];
+        for (int i = 0; i < points; i++) {
+            xs[i] = random.nextDouble(WORLD_SIZE);
+            ys[i] = random.nextDouble(WORLD_SIZE);
+            grid.insert(i, xs[i], ys[i]);
+        }
+        ids = new int[8];
+        squareDistances = new double[8];
+    }
+
+    @Benchmark
+    public void radius(Blackhole blackhole) {
+        final int i = next();
+        grid.queryRadius(xs[i], ys[i], RADIUS, blackhole::consume);
+    }
+
+    @Benchmark
+    public void bruteForceRadius(Blackhole blackhole) {
+        final int i = next();
+        for (int j = 0; j < points; j++) {
+            final double dx = xs[j] - xs[i], dy = ys[j] - ys[i];
+            if (dx * dx + dy * dy <= RADIUS * RADIUS) blackhole.consume(j);
+        }
+    }
+
+    @Benchmark
+    public int nearest() {
+        final int i = next();
+        return grid.nearest(xs[i], ys[i], ids.length, ids, squareDistances);
+    }
+
+    @Benchmark
+    public SpatialHashGrid move() {
+        final int i = next();
+        xs[i] = (xs[i] + 1) % WORLD_SIZE;
+        grid.move(i, xs[i], ys[i]);
+        return grid;
+    }
+
+    private int next() {
+        if (++query == points) query = 0;
+        return query;
+    }
+}
@@ -0,0 +1,84 @@
+package me.craftinators.math;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Benchmarks the approximate trigonometry in {@link MathUtil} against {@link Math},
+ * and rotating many vectors by one angle with and without a precomputed {@link Rotation}.
+ */
+@State(Scope.Thread)
+public class TrigBenchmark {
+    private static final long SEED = 0x5EED;
+    private static final int VECTORS = 1024;
+    private static final double ANGLE = 0.1;
+
+    private double[] angles, results;
+    private Double2[] vectors;
+    private Double2Buffer buffer;
+    private Rotation rotation;
+
+    @Setup
+    public void setup() {
+        final SplittableRandom random = new SplittableRandom(SEED);
+        angles = new double[VECTORS];
+        vectors = new Double2[VECTORS];
+        for (int i = 0; i < VECTORS; i++) {
+            angles[i] = random.nextDouble(-10, 10);
+            vectors[i] = Double2.of(random.nextDouble(-1000, 1000), random.nextDouble(-1000, 1000));
+        }
+        results = new double[VECTORS];
+        buffer = Double2Buffer.of(Arrays.asList(vectors));
+        rotation = Rotation.of(ANGLE);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VECTORS)
+    public double[] sin() {
+        for (int i = 0; i < VECTORS; i++) results[i] = Math.sin(angles[i]);
+        return results;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VECTORS)
+    public double[] fastSin() {
+        for (int i = 0; i < VECTORS; i++) results[i] = MathUtil.fastSin(angles[i]);
+        return results;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VECTORS)
+    public double[] angle() {
+        return buffer.angle(results);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VECTORS)
+    public double[] fastAngle() {
+        return buffer.fastAngle(results);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VECTORS)
+    public Double2 rotateByAngle() {
+        Double2 result = Double2.ZERO;
+        for (Double2 vector : vectors) result = result.add(vector.rotate(ANGLE));
+        return result;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VECTORS)
+    public Double2 rotateByRotation() {
+        Double2 result = Double2.ZERO;
+        for (Double2 vector : vectors) result = result.add(vector.rotate(rotation));
+        return result;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VECTORS)
+    public Double2Buffer bufferRotateByRotation() {
+        return buffer.rotate(rotation);
+    }
+}
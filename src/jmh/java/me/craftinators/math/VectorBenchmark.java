@@ -0,0 +1,85 @@
+package me.craftinators.math;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Benchmarks chains of {@link Double2}, {@link MutableDouble2} and {@link Long2} arithmetic, and bulk {@link Double2Buffer} kernels.
+ */
+@State(Scope.Thread)
+public class VectorBenchmark {
+    private static final long SEED = 0x5EED;
+    private static final int VECTORS = 1024;
+
+    private Double2[] doubles;
+    private Long2[] longs;
+    private Double2Buffer buffer;
+    private double[] distances;
+
+    @Setup
+    public void setup() {
+        final SplittableRandom random = new SplittableRandom(SEED);
+        doubles = new Double2[VECTORS];
+        longs = new Long2[VECTORS];
+        for (int i = 0; i < VECTORS; i++) {
+            doubles[i] = Double2.of(random.nextDouble(-1000, 1000), random.nextDouble(-1000, 1000));
+            longs[i] = Long2.of(random.nextLong(-1000, 1000), random.nextLong(-1000, 1000));
+        }
+        buffer = Double2Buffer.of(Arrays.asList(doubles));
+        distances = new double[VECTORS];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VECTORS)
+    public Double2 double2Chain() {
+        Double2 result = Double2.ZERO;
+        for (Double2 vector : doubles) result = result.add(vector).multiply(0.5).subtract(1, 2).lerp(vector, 0.25);
+        return result;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VECTORS)
+    public MutableDouble2 mutableDouble2Chain() {
+        final MutableDouble2 result = new MutableDouble2();
+        for (Double2 vector : doubles) result.add(vector).multiply(0.5).subtract(1, 2).lerp(vector, 0.25);
+        return result;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VECTORS)
+    public Double2 double2Rotate() {
+        Double2 result = Double2.ONE;
+        for (Double2 vector : doubles) result = vector.rotateAround(result, 0.1).normalized();
+        return result;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VECTORS)
+    public Double2Buffer bufferRotate() {
+        return buffer.rotateAround(Double2.ONE, 0.1);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VECTORS)
+    public double[] bufferSquareDistance() {
+        return buffer.squareDistance(Double2.ONE, distances);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VECTORS)
+    public double double2Distance() {
+        double result = 0;
+        for (Double2 vector : doubles) result += vector.squareDistance(Double2.ONE);
+        return result;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VECTORS)
+    public Long2 long2Chain() {
+        Long2 result = Long2.ZERO;
+        for (Long2 vector : longs) result = result.add(vector).hadamard(Long2.of(3, 5)).subtract(vector).divide(2);
+        return result;
+    }
+}
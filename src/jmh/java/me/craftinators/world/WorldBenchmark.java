@@ -0,0 +1,42 @@
+package me.craftinators.world;
+
+import me.craftinators.math.Long2;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks generating {@link Sector}s from scratch against looking up loaded ones in a {@link World}.
+ */
+@State(Scope.Thread)
+public class WorldBenchmark {
+    private static final long SEED = 0x5EED;
+    private static final int SECTORS = 256;
+
+    private StandardSectorGenerator generator;
+    private World world;
+    private Long2[] coordinates;
+
+    @Setup
+    public void setup() {
+        generator = new StandardSectorGenerator(0.3, 0.2);
+        world = new World(SEED, 1024, generator);
+        coordinates = new Long2[SECTORS];
+        for (int i = 0; i < SECTORS; i++) coordinates[i] = Long2.of(i % 16, i / 16);
+        for (Long2 coordinate : coordinates) world.getSector(coordinate);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SECTORS)
+    public int generate() {
+        int bodies = 0;
+        for (Long2 coordinate : coordinates) bodies += generator.generate(coordinate, world.getSectorSeed(coordinate), 1024).getBodies().size();
+        return bodies;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SECTORS)
+    public int loaded() {
+        int bodies = 0;
+        for (Long2 coordinate : coordinates) bodies += world.getSector(coordinate).getBodies().size();
+        return bodies;
+    }
+}
@@ -2,15 +2,25 @@ package me.craftinators;
 
 import me.craftinators.generation.Seedable;
 import me.craftinators.generation.SeedGenerator;
+import me.craftinators.world.StandardSectorGenerator;
+import me.craftinators.world.World;
 
 /**
  * Represents the game.
  */
 public final class Game implements Seedable {
+    /**
+     * The length of each side of a {@link World} sector.
+     */
+    public static final double SECTOR_SIZE = 1024;
+
     private final long seed;
+    private final World world;
 
     public Game(String seed) {
         this.seed = generateSeed(seed);
+        // Sectors are generated lazily, so creating the world is free.
+        this.world = new World(this.seed, SECTOR_SIZE, new StandardSectorGenerator(0.3, 0.2));
     }
 
     private static long generateSeed(String seed) {
@@ -29,4 +39,8 @@ public final class Game implements Seedable {
     public long getSeed() {
         return seed;
     }
+
+    public World getWorld() {
+        return world;
+    }
 }
@@ -0,0 +1,263 @@
+package me.craftinators.generation;
+
+import me.craftinators.math.Double2;
+import me.craftinators.math.Long2;
+import me.craftinators.math.MathUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Generates {@link NoiseTile}s in parallel on a {@link ForkJoinPool}.
+ * Tile <code>(tx, ty)</code> holds <code>tileSize * tileSize</code> samples <code>step</code> apart, starting at
+ * <code>(tx * tileSize * step, ty * tileSize * step)</code>. Tiles are generated independently of each other,
+ * so the output does not depend on the number of threads. Tiles are filled by a {@link NoiseBackend},
+ * {@link NoiseBackend#getDefault()} unless another one is given.
+ * <p>
+ * Generated tiles are handed to the consumer in completion order by {@link #take()} and {@link #poll()}. A tile keeps
+ * its place among the pending tiles until it is taken, so a consumer falling behind slows down {@link #submit(Long2)}
+ * instead of letting generated tiles pile up.
+ */
+public final class ChunkGenerationService implements AutoCloseable {
+    private final SuperSimplexNoiseGenerator generator;
+    private final int tileSize;
+    private final double step;
+    private final ForkJoinPool pool;
+    private final Semaphore pending;
+    private final BlockingQueue<CompletableFuture<NoiseTile>> completed = new LinkedBlockingQueue<>();
+    private final NoiseTileCache cache;
+    private final NoiseTileStore store;
+    private final NoiseBackend backend;
+    private final long configuration;
+
+    /**
+     * Constructs a new ChunkGenerationService.
+     * @param generator The generator to sample
+     * @param tileSize The number of samples along each side of a tile
+     * @param step The distance between neighbouring samples
+     * @param parallelism The number of worker threads
+     * @param maxPendingTiles The number of tiles that may be queued, generating or waiting to be taken at once before {@link #submit(Long2)} blocks
+     */
+    public ChunkGenerationService(SuperSimplexNoiseGenerator generator, int tileSize, double step, int parallelism, int maxPendingTiles) {
+        this(generator, tileSize, step, parallelism, maxPendingTiles, null);
+    }
+
+    /**
+     * Constructs a new ChunkGenerationService, looking tiles up in a cache before generating them.
+     * @param generator The generator to sample
+     * @param tileSize The number of samples along each side of a tile
+     * @param step The distance between neighbouring samples
+     * @param parallelism The number of worker threads
+     * @param maxPendingTiles The number of tiles that may be queued, generating or waiting to be taken at once before {@link #submit(Long2)} blocks
+     * @param cache The cache to use, may be shared between services, or <code>null</code>
+     */
+    public ChunkGenerationService(SuperSimplexNoiseGenerator generator, int tileSize, double step, int parallelism, int maxPendingTiles, NoiseTileCache cache) {
+        this(generator, tileSize, step, parallelism, maxPendingTiles, cache, null);
+    }
+
+    /**
+     * Constructs a new ChunkGenerationService, looking tiles up in a cache and then in a persistent store before generating them.
+     * Generated tiles are added to the store.
+     * @param generator The generator to sample
+     * @param tileSize The number of samples along each side of a tile
+     * @param step The distance between neighbouring samples
+     * @param parallelism The number of worker threads
+     * @param maxPendingTiles The number of tiles that may be queued, generating or waiting to be taken at once before {@link #submit(Long2)} blocks
+     * @param cache The cache to use, may be shared between services, or <code>null</code>
+     * @param store The store to use, opened with the generator's seed and {@link #getConfiguration()}, or <code>null</code>
+     */
+    public ChunkGenerationService(SuperSimplexNoiseGenerator generator, int tileSize, double step, int parallelism, int maxPendingTiles, NoiseTileCache cache, NoiseTileStore store) {
+        this(generator, tileSize, step, parallelism, maxPendingTiles, cache, store, NoiseBackend.getDefault());
+    }
+
+    /**
+     * Constructs a new ChunkGenerationService, filling tiles with the given backend.
+     * Tiles filled by different backends are equal up to {@link NoiseBackend#VECTOR_TOLERANCE},
+     * so they may share a cache or store.
+     * @param generator The generator to sample
+     * @param tileSize The number of samples along each side of a tile
+     * @param step The distance between neighbouring samples
+     * @param parallelism The number of worker threads
+     * @param maxPendingTiles The number of tiles that may be queued, generating or waiting to be taken at once before {@link #submit(Long2)} blocks
+     * @param cache The cache to use, may be shared between services, or <code>null</code>
+     * @param store The store to use, opened with the generator's seed and {@link #getConfiguration()}, or <code>null</code>
+     * @param backend The backend filling the tiles
+     */
+    public ChunkGenerationService(SuperSimplexNoiseGenerator generator, int tileSize, double step, int parallelism, int maxPendingTiles, NoiseTileCache cache, NoiseTileStore store, NoiseBackend backend) {
+        if (tileSize < 1) throw new IllegalArgumentException("Tile size must be at least 1: " + tileSize);
+        if (maxPendingTiles < 1) throw new IllegalArgumentException("Pending tile limit must be at least 1: " + maxPendingTiles);
+        this.generator = generator;
+        this.tileSize = tileSize;
+        this.step = step;
+        this.pool = new ForkJoinPool(parallelism);
+        this.pending = new Semaphore(maxPendingTiles);
+        this.cache = cache;
+        this.configuration = getConfiguration(generator, tileSize, step);
+        if (store != null && (store.getSeed() != generator.getSeed() || store.getConfiguration() != configuration || store.getTileSize() != tileSize))
+            throw new IllegalArgumentException("Store was opened for a different generator configuration");
+        this.store = store;
+        this.backend = backend;
+    }
+
+    /**
+     * Gets a fingerprint of everything affecting the tiles of a service, other than the seed.
+     * @param generator The generator to sample
+     * @param tileSize The number of samples along each side of a tile
+     * @param step The distance between neighbouring samples
+     * @return The fingerprint
+     */
+    public static long getConfiguration(SuperSimplexNoiseGenerator generator, int tileSize, double step) {
+        return MathUtil.mix64(MathUtil.mix64(generator.getFingerprint() ^ tileSize) ^ Double.doubleToLongBits(step));
+    }
+
+    public SuperSimplexNoiseGenerator getGenerator() {
+        return generator;
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    public double getStep() {
+        return step;
+    }
+
+    public NoiseBackend getBackend() {
+        return backend;
+    }
+
+    /**
+     * Gets a fingerprint of everything affecting the tiles of this service, other than the seed.
+     * @return The fingerprint
+     */
+    public long getConfiguration() {
+        return configuration;
+    }
+
+    /**
+     * Schedules a tile for generation. Blocks while too many tiles are pending, counting tiles that were
+     * generated but not yet taken, so callers producing requests faster than they are generated or consumed are slowed down.
+     * The returned future is also handed out by {@link #take()} or {@link #poll()} once it completes, which has to
+     * happen for its place to be freed. Cancelling it before it completes frees its place right away instead, and skips the tile if it has not started generating.
+     * Must not be called from a task running on this service.
+     * @param tile The tile coordinate
+     * @return The future tile
+     * @throws InterruptedException If interrupted while waiting for a pending tile to be taken
+     */
+    public CompletableFuture<NoiseTile> submit(Long2 tile) throws InterruptedException {
+        pending.acquire();
+        final CompletableFuture<NoiseTile> future = new CompletableFuture<>();
+        future.whenComplete((result, exception) -> {
+            if (future.isCancelled()) pending.release();
+            else completed.add(future);
+        });
+        try {
+            pool.execute(() -> {
+                if (future.isDone()) return;
+                try {
+                    future.complete(generate(tile));
+                } catch (Throwable throwable) {
+                    future.completeExceptionally(throwable);
+                }
+            });
+        } catch (RuntimeException exception) {
+            future.completeExceptionally(exception);
+        }
+        return future;
+    }
+
+    /**
+     * Schedules every tile overlapping the given world rectangle, in row-major order.
+     * Regions of more tiles than may be pending at once need another thread taking tiles, or this blocks forever.
+     * @param min The minimum corner of the rectangle, inclusive
+     * @param max The maximum corner of the rectangle, inclusive
+     * @return The future tiles
+     * @throws InterruptedException If interrupted while waiting for a pending tile to be taken
+     * @see #submit(Long2)
+     */
+    public List<CompletableFuture<NoiseTile>> submitRegion(Double2 min, Double2 max) throws InterruptedException {
+        final Long2 from = toTile(min), to = toTile(max);
+        final List<CompletableFuture<NoiseTile>> tiles = new ArrayList<>();
+        for (long y = from.getY(); y <= to.getY(); y++) {
+            for (long x = from.getX(); x <= to.getX(); x++) tiles.add(submit(Long2.of(x, y)));
+        }
+        return tiles;
+    }
+
+    /**
+     * Takes the next submitted tile to complete, waiting for one if necessary, and frees its place among the pending tiles.
+     * @return The completed future tile, which may have completed exceptionally
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public CompletableFuture<NoiseTile> take() throws InterruptedException {
+        final CompletableFuture<NoiseTile> tile = completed.take();
+        pending.release();
+        return tile;
+    }
+
+    /**
+     * Takes the next submitted tile to complete if there is one, and frees its place among the pending tiles.
+     * @return The completed future tile, which may have completed exceptionally, or <code>null</code>
+     */
+    public CompletableFuture<NoiseTile> poll() {
+        final CompletableFuture<NoiseTile> tile = completed.poll();
+        if (tile != null) pending.release();
+        return tile;
+    }
+
+    /**
+     * Generates a tile on the calling thread, or gets it from the cache or store.
+     * @param tile The tile coordinate
+     * @return The tile
+     */
+    public NoiseTile generate(Long2 tile) {
+        if (cache == null) return generateUncached(tile);
+        return cache.get(getCacheKey(tile), key -> generateUncached(key.getCoordinate()));
+    }
+
+    /**
+     * Gets the key a tile generated by this service is cached under.
+     * @param tile The tile coordinate
+     * @return The cache key
+     */
+    public NoiseTileCache.Key getCacheKey(Long2 tile) {
+        return new NoiseTileCache.Key(generator.getSeed(), configuration, tile);
+    }
+
+    private NoiseTile generateUncached(Long2 tile) {
+        if (store == null) return generateUnstored(tile);
+        final NoiseTile stored = store.get(tile);
+        if (stored != null) return stored;
+        final NoiseTile generated = generateUnstored(tile);
+        store.put(generated);
+        return generated;
+    }
+
+    private NoiseTile generateUnstored(Long2 tile) {
+        final double[] values = new double[tileSize * tileSize];
+        backend.fillGrid(generator, values, 0, tileSize, tile.getX() * tileSize * step, tile.getY() * tileSize * step, step, step, tileSize, tileSize);
+        return new NoiseTile(tile, tileSize, values);
+    }
+
+    /**
+     * Gets the coordinate of the tile containing the given world position.
+     * @param position The world position
+     * @return The tile coordinate
+     */
+    public Long2 toTile(Double2 position) {
+        return position.divide(tileSize * step).floor();
+    }
+
+    /**
+     * Stops accepting tiles. Tiles already submitted are still generated.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,198 @@
+package me.craftinators.generation;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Optional instrumentation of noise generation, enabled with the <code>me.craftinators.generation.metrics</code> system property.
+ * Region fills record their samples and latency, and {@link NoiseTileCache} lookups their hits and misses.
+ * Once enabled, metrics are published over JMX as a {@link GenerationMetricsMXBean} and each region fill
+ * is also committed as a flight recorder event.
+ * <p>
+ * {@link #ENABLED} is a compile-time constant for the JIT, so disabled recording calls are removed entirely.
+ * Single point samples are not counted, to keep them free of bookkeeping.
+ */
+public final class GenerationMetrics implements GenerationMetricsMXBean {
+    private static final class ThreadSamples {
+        private final WeakReference<Thread> thread;
+        private final String name;
+        private final LongAdder samples = new LongAdder();
+
+        private ThreadSamples(Thread thread) {
+            this.thread = new WeakReference<>(thread);
+            this.name = thread.getName() + " #" + thread.getId();
+        }
+
+        private boolean isAlive() {
+            final Thread owner = thread.get();
+            return owner != null && owner.isAlive();
+        }
+    }
+
+    public static final boolean ENABLED = Boolean.getBoolean("me.craftinators.generation.metrics");
+
+    private static final GenerationMetrics INSTANCE = new GenerationMetrics();
+
+    static {
+        if (ENABLED) INSTANCE.register();
+    }
+
+    private final LongAdder samples = new LongAdder(), cacheHits = new LongAdder(), cacheMisses = new LongAdder();
+    private final LatencyHistogram regionFills = new LatencyHistogram();
+    // By thread id, which is never reused. Pruned of threads that have ended, so pools coming and going don't leak.
+    private final Map<Long, ThreadSamples> threadSamples = new ConcurrentHashMap<>();
+    private final ThreadLocal<ThreadSamples> currentThreadSamples = ThreadLocal.withInitial(this::registerThread);
+    private volatile long resetTime = System.nanoTime();
+
+    private GenerationMetrics() {}
+
+    /**
+     * Gets the metrics, which stay at zero unless {@link #ENABLED}.
+     * @return The metrics
+     */
+    public static GenerationMetrics get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the start time of a region fill, to pass to {@link #recordRegion(Object, long, long)}.
+     * @return The current time in nanoseconds, or 0 if disabled
+     */
+    static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records a finished region fill.
+     * @param generator The generator that filled the region
+     * @param start The time returned by {@link #start()}
+     * @param samples The number of samples in the region
+     */
+    static void recordRegion(Object generator, long start, long samples) {
+        if (!ENABLED) return;
+        final long nanos = System.nanoTime() - start;
+        INSTANCE.samples.add(samples);
+        INSTANCE.currentThreadSamples.get().samples.add(samples);
+        INSTANCE.regionFills.record(nanos);
+
+        final RegionFillEvent event = new RegionFillEvent();
+        if (event.shouldCommit()) {
+            event.generator = generator.getClass().getSimpleName();
+            event.samples = samples;
+            event.fillTime = nanos;
+            event.commit();
+        }
+    }
+
+    static void recordCacheLookup(boolean hit) {
+        if (!ENABLED) return;
+        (hit ? INSTANCE.cacheHits : INSTANCE.cacheMisses).increment();
+    }
+
+    /**
+     * Gets the latencies of region fills, in nanoseconds.
+     * @return The histogram
+     */
+    public LatencyHistogram getRegionFillLatencies() {
+        return regionFills;
+    }
+
+    @Override
+    public long getSamples() {
+        return samples.sum();
+    }
+
+    @Override
+    public double getSamplesPerSecond() {
+        final long nanos = System.nanoTime() - resetTime;
+        return nanos <= 0 ? 0 : getSamples() * 1e9 / nanos;
+    }
+
+    @Override
+    public long getRegionFills() {
+        return regionFills.getCount();
+    }
+
+    @Override
+    public double getRegionFillMeanNanos() {
+        return regionFills.getMean();
+    }
+
+    @Override
+    public long getRegionFillP50Nanos() {
+        return regionFills.getPercentile(0.5);
+    }
+
+    @Override
+    public long getRegionFillP99Nanos() {
+        return regionFills.getPercentile(0.99);
+    }
+
+    @Override
+    public long getRegionFillMaxNanos() {
+        return regionFills.getMax();
+    }
+
+    @Override
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    @Override
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    @Override
+    public double getCacheHitRate() {
+        final long hits = getCacheHits(), lookups = hits + getCacheMisses();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public Map<String, Long> getSamplesByThread() {
+        pruneThreads();
+        final Map<String, Long> samples = new TreeMap<>();
+        for (ThreadSamples cell : threadSamples.values()) samples.put(cell.name, cell.samples.sum());
+        return samples;
+    }
+
+    @Override
+    public void reset() {
+        samples.reset();
+        cacheHits.reset();
+        cacheMisses.reset();
+        regionFills.reset();
+        threadSamples.values().forEach(cell -> cell.samples.reset());
+        resetTime = System.nanoTime();
+    }
+
+    private ThreadSamples registerThread() {
+        pruneThreads();
+        final Thread thread = Thread.currentThread();
+        final ThreadSamples cell = new ThreadSamples(thread);
+        threadSamples.put(thread.getId(), cell);
+        return cell;
+    }
+
+    private void pruneThreads() {
+        threadSamples.values().removeIf(cell -> !cell.isAlive());
+    }
+
+    private void register() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName("me.craftinators.generation:type=GenerationMetrics"));
+        } catch (InstanceAlreadyExistsException exception) {
+            // Loaded by more than one class loader, the first copy stays published.
+        } catch (JMException exception) {
+            throw new IllegalStateException("Could not register generation metrics", exception);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package me.craftinators.generation;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link GenerationMetrics}, registered as <code>me.craftinators.generation:type=GenerationMetrics</code>.
+ */
+public interface GenerationMetricsMXBean {
+    long getSamples();
+
+    /**
+     * Gets the average number of samples generated per second since the metrics were last reset.
+     */
+    double getSamplesPerSecond();
+
+    long getRegionFills();
+
+    double getRegionFillMeanNanos();
+
+    long getRegionFillP50Nanos();
+
+    long getRegionFillP99Nanos();
+
+    long getRegionFillMaxNanos();
+
+    long getCacheHits();
+
+    long getCacheMisses();
+
+    /**
+     * Gets the fraction of {@link NoiseTileCache} lookups that were hits, or 0 without lookups.
+     */
+    double getCacheHitRate();
+
+    /**
+     * Gets the number of samples generated by each live thread, keyed by thread name and id.
+     * Threads that have ended are dropped, their samples still count towards {@link #getSamples()}.
+     */
+    Map<String, Long> getSamplesByThread();
+
+    void reset();
+}
@@ -0,0 +1,17 @@
+package me.craftinators.generation;
+
+/**
+ * How {@link SuperSimplexNoiseGenerator} picks the gradient of each lattice vertex.
+ */
+public enum GradientMode {
+    /**
+     * Hashes the seed and vertex with 64-bit multiplication. Never repeats, and needs no memory per generator.
+     */
+    HASH,
+    /**
+     * Looks the vertex up in permutation and gradient tables built from the seed when the generator is constructed,
+     * using only 32-bit arithmetic. Faster, but costs about 16 KiB per generator (or octave), and the noise repeats
+     * every {@value GradientTable#SIZE} lattice cells along each axis. Produces different noise than {@link #HASH}.
+     */
+    TABLE
+}
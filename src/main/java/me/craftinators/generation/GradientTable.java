@@ -0,0 +1,44 @@
+package me.craftinators.generation;
+
+import java.util.SplittableRandom;
+
+/**
+ * Per-seed lookup tables for {@link GradientMode#TABLE}.
+ */
+final class GradientTable {
+    static final int SIZE = 1 << 11;
+    private static final int MASK = SIZE - 1;
+    // GRADIENTS repeats the same 24 vectors, only its first copy is indexed.
+    private static final int UNIQUE_GRADIENTS = 24;
+
+    private final int[] permutation = new int[SIZE];
+    // Offset into GRADIENTS of the gradient for each permuted index.
+    private final int[] gradients = new int[SIZE];
+
+    GradientTable(long seed) {
+        final SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < SIZE; i++) {
+            permutation[i] = i;
+            gradients[i] = (i % UNIQUE_GRADIENTS) << 1;
+        }
+        shuffle(permutation, random);
+        shuffle(gradients, random);
+    }
+
+    /**
+     * Gets the offset into {@link SuperSimplexNoiseGenerator#GRADIENTS} of the gradient of a vertex, given its prime pre-multiplied coordinates.
+     * Multiplying by an odd prime keeps the low bits a bijection of the vertex coordinate, so they index the tables directly.
+     */
+    int gradient(long hx, long hy) {
+        return gradients[(permutation[(int) hy & MASK] ^ (int) hx) & MASK];
+    }
+
+    private static void shuffle(int[] array, SplittableRandom random) {
+        for (int i = array.length - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final int swap = array[i];
+            array[i] = array[j];
+            array[j] = swap;
+        }
+    }
+}
@@ -1,7 +1,307 @@
 package me.craftinators.generation;
 
+import me.craftinators.math.MathUtil;
+
+/**
+ * Fractal noise generator, summing several octaves of {@link SuperSimplexNoiseGenerator} noise.
+ * Each octave samples at <code>lacunarity</code> times the frequency and <code>gain</code> times the amplitude
+ * of the previous one, using its own seed derived from {@link #getSeed()}.
+ * Output is normalized to the range of a single octave, [-1, 1].
+ * <p>
+ * For samples far apart, such as a zoomed-out map, {@link #filteredNoise(double, double, double)} skips the octaves
+ * too fine to show at that spacing, and stands in their expected value instead.
+ */
 public final class LayeredNoiseGenerator extends SuperSimplexNoiseGenerator {
+    private static final long OCTAVE_SEED_INCREMENT = 0x9E3779B97F4A7C15L;
+    // Single octave noise peaks at 1, give it some room for rounding.
+    private static final double OCTAVE_BOUND = 1.0001d;
+    // Octave frequency times footprint at which an octave starts fading out, and at which it is gone.
+    // 95% of the energy of single octave noise lies below 1.4 cycles per unit, which a footprint of 1 / (2 * 1.4) still resolves.
+    private static final double FULL_DETAIL = 0.35, NO_DETAIL = 0.7;
+    // Expected value of a shaped octave, measured over millions of samples. Fbm noise is symmetric around 0.
+    private static final double BILLOW_MEAN = -0.2908, RIDGED_MEAN = -0.0696;
+
+    /**
+     * How the noise of each octave is shaped before it is summed.
+     */
+    public enum Type {
+        /**
+         * Fractal Brownian motion, octaves are summed as is.
+         */
+        FBM,
+        /**
+         * Absolute value of each octave, giving puffy, rounded shapes.
+         */
+        BILLOW,
+        /**
+         * Inverted and squared absolute value of each octave, giving sharp ridges.
+         */
+        RIDGED
+    }
+
+    private final Type type;
+    private final double lacunarity, gain;
+    private final long[] seeds;
+    // Null in hash mode.
+    private final GradientTable[] tables;
+    private final double[] frequencies, amplitudes;
+    // Sum of the amplitudes of an octave and all octaves after it.
+    private final double[] remaining;
+    private final double mean;
+
+    /**
+     * Constructs a single octave generator, equivalent to {@link SuperSimplexNoiseGenerator}.
+     * @param seed The seed
+     */
     public LayeredNoiseGenerator(long seed) {
-        super(seed);
+        this(seed, 1, 2, 0.5, Type.FBM);
+    }
+
+    /**
+     * Constructs a new LayeredNoiseGenerator.
+     * @param seed The seed
+     * @param octaves The number of octaves, at least 1
+     * @param lacunarity The frequency multiplier between octaves
+     * @param gain The amplitude multiplier between octaves
+     * @param type How each octave is shaped
+     */
+    public LayeredNoiseGenerator(long seed, int octaves, double lacunarity, double gain, Type type) {
+        this(seed, octaves, lacunarity, gain, type, GradientMode.HASH);
+    }
+
+    /**
+     * Constructs a new LayeredNoiseGenerator.
+     * @param seed The seed
+     * @param octaves The number of octaves, at least 1
+     * @param lacunarity The frequency multiplier between octaves
+     * @param gain The amplitude multiplier between octaves
+     * @param type How each octave is shaped
+     * @param mode How gradients are picked
+     */
+    public LayeredNoiseGenerator(long seed, int octaves, double lacunarity, double gain, Type type, GradientMode mode) {
+        super(seed, mode);
+        if (octaves < 1) throw new IllegalArgumentException("Octave count must be at least 1: " + octaves);
+        this.type = type;
+        this.lacunarity = lacunarity;
+        this.gain = gain;
+        this.seeds = new long[octaves];
+        this.tables = mode == GradientMode.TABLE ? new GradientTable[octaves] : null;
+        this.frequencies = new double[octaves];
+        this.amplitudes = new double[octaves];
+        this.remaining = new double[octaves + 1];
+        this.mean = switch (type) {
+            case FBM -> 0;
+            case BILLOW -> BILLOW_MEAN;
+            case RIDGED -> RIDGED_MEAN;
+        };
+
+        double frequency = 1, amplitude = 1, total = 0;
+        for (int octave = 0; octave < octaves; octave++) {
+            seeds[octave] = seed + octave * OCTAVE_SEED_INCREMENT;
+            if (tables != null) tables[octave] = octave == 0 ? getTable() : createTable(seeds[octave], mode);
+            frequencies[octave] = frequency;
+            amplitudes[octave] = amplitude;
+            total += amplitude;
+            frequency *= lacunarity;
+            amplitude *= gain;
+        }
+        for (int octave = octaves - 1; octave >= 0; octave--) {
+            amplitudes[octave] /= total;
+            remaining[octave] = remaining[octave + 1] + amplitudes[octave] * OCTAVE_BOUND;
+        }
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getOctaves() {
+        return seeds.length;
+    }
+
+    public double getLacunarity() {
+        return lacunarity;
+    }
+
+    public double getGain() {
+        return gain;
+    }
+
+    /**
+     * Gets the seed used by the given octave.
+     * @param octave The octave, starting at 0
+     * @return The seed of the octave
+     */
+    public long getOctaveSeed(int octave) {
+        return seeds[octave];
+    }
+
+    @Override
+    public long getFingerprint() {
+        long fingerprint = super.getFingerprint();
+        fingerprint = MathUtil.mix64(fingerprint ^ type.name().hashCode());
+        fingerprint = MathUtil.mix64(fingerprint ^ seeds.length);
+        fingerprint = MathUtil.mix64(fingerprint ^ Double.doubleToLongBits(lacunarity));
+        return MathUtil.mix64(fingerprint ^ Double.doubleToLongBits(gain));
+    }
+
+    @Override
+    public double noise(double x, double y) {
+        double value = 0;
+        for (int octave = 0; octave < seeds.length; octave++) value += octave(octave, x, y);
+        return value;
+    }
+
+    @Override
+    public double noise(double x, double y, double[] derivatives) {
+        double value = 0, derivativeX = 0, derivativeY = 0;
+        for (int octave = 0; octave < seeds.length; octave++) {
+            final double frequency = frequencies[octave];
+            derivatives[0] = 0;
+            derivatives[1] = 0;
+            final double noise = noise(seeds[octave], tables == null ? null : tables[octave], x * frequency, y * frequency, derivatives);
+            value += amplitudes[octave] * shape(noise);
+            // Chain rule through the shaping and the frequency scaling of the coordinates.
+            final double scale = amplitudes[octave] * frequency * slope(noise);
+            derivativeX += scale * derivatives[0];
+            derivativeY += scale * derivatives[1];
+        }
+        derivatives[0] = derivativeX;
+        derivatives[1] = derivativeY;
+        return value;
+    }
+
+    /**
+     * Checks whether the noise at the given point is above <code>threshold</code>.
+     * Stops evaluating octaves as soon as the remaining ones can no longer change the outcome.
+     * @return Whether <code>noise(x, y) > threshold</code>
+     */
+    public boolean exceeds(double x, double y, double threshold) {
+        double value = 0;
+        for (int octave = 0; octave < seeds.length; octave++) {
+            value += octave(octave, x, y);
+            final double bound = remaining[octave + 1];
+            if (value - bound > threshold) return true;
+            if (value + bound <= threshold) return false;
+        }
+        return value > threshold;
+    }
+
+    /**
+     * Quantizes the noise at the given point into steps of size <code>quantum</code>.
+     * Stops evaluating octaves as soon as the remaining ones can no longer change the step.
+     * @return <code>floor(noise(x, y) / quantum)</code>
+     */
+    public long quantize(double x, double y, double quantum) {
+        double value = 0;
+        for (int octave = 0; octave < seeds.length; octave++) {
+            value += octave(octave, x, y);
+            final double bound = remaining[octave + 1];
+            final long low = (long) Math.floor((value - bound) / quantum);
+            if (low == (long) Math.floor((value + bound) / quantum)) return low;
+        }
+        return (long) Math.floor(value / quantum);
+    }
+
+    /**
+     * Gets how much of an octave is kept when sampling with the given footprint.
+     * An octave fades out as its features shrink below the footprint, before they would alias. The first octave is always kept.
+     * @param octave The octave, starting at 0
+     * @param footprint The distance between neighbouring samples, or the size of the area each sample stands for
+     * @return The weight of the octave, from 1 when fully kept to 0 when replaced by its expected value
+     */
+    public double getOctaveWeight(int octave, double footprint) {
+        if (octave == 0) return 1;
+        final double detail = frequencies[octave] * Math.abs(footprint);
+        return Math.max(0, Math.min(1, (NO_DETAIL - detail) / (NO_DETAIL - FULL_DETAIL)));
+    }
+
+    /**
+     * Gets the number of octaves {@link #filteredNoise(double, double, double)} evaluates at the given footprint.
+     * @param footprint The distance between neighbouring samples
+     * @return The number of octaves with a weight above 0
+     */
+    public int getOctaveCount(double footprint) {
+        int count = 0;
+        for (int octave = 0; octave < seeds.length; octave++) if (getOctaveWeight(octave, footprint) > 0) count++;
+        return count;
+    }
+
+    /**
+     * Samples the noise at the given point, leaving out detail too fine for the given footprint.
+     * Octaves are weighted by {@link #getOctaveWeight(int, double)}, the rest of each octave is replaced by its
+     * expected value, so the overall level of the noise stays the same as detail fades in and out.
+     * Equal to {@link #noise(double, double)} when the footprint is 0.
+     * @param footprint The distance between neighbouring samples
+     * @return The filtered noise
+     */
+    public double filteredNoise(double x, double y, double footprint) {
+        double value = 0;
+        for (int octave = 0; octave < seeds.length; octave++) {
+            final double weight = getOctaveWeight(octave, footprint);
+            if (weight == 1) value += octave(octave, x, y);
+            else if (weight == 0) value += amplitudes[octave] * mean;
+            else value += weight * octave(octave, x, y) + (1 - weight) * amplitudes[octave] * mean;
+        }
+        return value;
+    }
+
+    /**
+     * Turns a sample filtered at one footprint into the sample at another footprint, only evaluating the octaves
+     * whose weight differs between the two. Equal to <code>filteredNoise(x, y, footprint)</code> up to rounding.
+     * @param filtered The value of <code>filteredNoise(x, y, previousFootprint)</code>
+     * @param previousFootprint The footprint <code>filtered</code> was sampled at
+     * @param footprint The footprint to sample at
+     * @return The filtered noise
+     */
+    public double refineNoise(double filtered, double x, double y, double previousFootprint, double footprint) {
+        double value = filtered;
+        for (int octave = 0; octave < seeds.length; octave++) {
+            final double change = getOctaveWeight(octave, footprint) - getOctaveWeight(octave, previousFootprint);
+            if (change != 0) value += change * (octave(octave, x, y) - amplitudes[octave] * mean);
+        }
+        return value;
+    }
+
+    /**
+     * Fills a region of {@link #filteredNoise(double, double, double)} into <code>out</code>, with the larger step as the footprint.
+     * See {@link #fillGrid(double[], int, int, double, double, double, double, int, int)} for the layout.
+     */
+    public void fillFilteredGrid(double[] out, int offset, int stride, double originX, double originY, double stepX, double stepY, int width, int height) {
+        checkRegion(out.length, offset, stride, width, height);
+        final long start = GenerationMetrics.start();
+        final double footprint = Math.max(Math.abs(stepX), Math.abs(stepY));
+        for (int j = 0; j < height; j++) {
+            final double y = originY + j * stepY;
+            int index = offset + j * stride;
+            for (int i = 0; i < width; i++) out[index++] = filteredNoise(originX + i * stepX, y, footprint);
+        }
+        GenerationMetrics.recordRegion(this, start, (long) width * height);
+    }
+
+    private double octave(int octave, double x, double y) {
+        final double frequency = frequencies[octave];
+        final double noise = noise(seeds[octave], tables == null ? null : tables[octave], x * frequency, y * frequency);
+        return amplitudes[octave] * shape(noise);
+    }
+
+    private double shape(double noise) {
+        return switch (type) {
+            case FBM -> noise;
+            case BILLOW -> 2 * Math.abs(noise) - 1;
+            case RIDGED -> {
+                final double ridge = 1 - Math.abs(noise);
+                yield 2 * ridge * ridge - 1;
+            }
+        };
+    }
+
+    // Derivative of shape, undefined where noise is 0 for billow and ridged, so that point uses 0.
+    private double slope(double noise) {
+        return switch (type) {
+            case FBM -> 1;
+            case BILLOW -> 2 * Math.signum(noise);
+            case RIDGED -> -4 * (1 - Math.abs(noise)) * Math.signum(noise);
+        };
     }
 }
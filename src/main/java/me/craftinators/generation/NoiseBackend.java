@@ -0,0 +1,95 @@
+package me.craftinators.generation;
+
+import java.util.Locale;
+
+/**
+ * Implementations of {@link SuperSimplexNoiseGenerator#fillGrid} region sampling, selectable per {@link ChunkGenerationService}.
+ */
+public enum NoiseBackend {
+    /**
+     * Evaluates one sample at a time. Always available, and matches {@link SuperSimplexNoiseGenerator#noise(double, double)} exactly.
+     */
+    SCALAR {
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+
+        @Override
+        public void fillGrid(SuperSimplexNoiseGenerator generator, double[] out, int offset, int stride, double originX, double originY, double stepX, double stepY, int width, int height) {
+            generator.fillGrid(out, offset, stride, originX, originY, stepX, stepY, width, height);
+        }
+    },
+    /**
+     * Evaluates several samples at once using the <code>jdk.incubator.vector</code> module, which has to be
+     * added with <code>--add-modules jdk.incubator.vector</code>. Samples differ from {@link #SCALAR} by at most
+     * {@link #VECTOR_TOLERANCE}. Falls back to {@link #SCALAR} when the module is missing, and for generators
+     * other than a plain {@link SuperSimplexNoiseGenerator} in {@link GradientMode#HASH} mode.
+     */
+    VECTOR {
+        @Override
+        public boolean isAvailable() {
+            return VECTOR_MODULE_PRESENT;
+        }
+
+        @Override
+        public void fillGrid(SuperSimplexNoiseGenerator generator, double[] out, int offset, int stride, double originX, double originY, double stepX, double stepY, int width, int height) {
+            if (!isAvailable() || generator.getClass() != SuperSimplexNoiseGenerator.class || generator.getGradientMode() != GradientMode.HASH) SCALAR.fillGrid(generator, out, offset, stride, originX, originY, stepX, stepY, width, height);
+            else {
+                final long start = GenerationMetrics.start();
+                VectorizedSuperSimplex.fillGrid(generator.getSeed(), out, offset, stride, originX, originY, stepX, stepY, width, height);
+                GenerationMetrics.recordRegion(generator, start, (long) width * height);
+            }
+        }
+    };
+
+    /**
+     * The largest absolute difference between a {@link #VECTOR} and a {@link #SCALAR} sample.
+     * Each of the up to four vertex terms may be off by one ulp of its magnitude, which is at most 1.
+     */
+    public static final double VECTOR_TOLERANCE = 4 * Math.ulp(1d);
+
+    private static final boolean VECTOR_MODULE_PRESENT = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    private static final NoiseBackend DEFAULT = select(System.getProperty("me.craftinators.generation.backend"));
+
+    /**
+     * Checks whether this backend can run on the current JVM.
+     * @return Whether this backend is available
+     */
+    public abstract boolean isAvailable();
+
+    /**
+     * Fills a region of noise into <code>out</code>, see {@link SuperSimplexNoiseGenerator#fillGrid(double[], int, int, double, double, double, double, int, int)}.
+     */
+    public abstract void fillGrid(SuperSimplexNoiseGenerator generator, double[] out, int offset, int stride, double originX, double originY, double stepX, double stepY, int width, int height);
+
+    /**
+     * Gets the backend selected by the <code>me.craftinators.generation.backend</code> system property,
+     * either <code>scalar</code> or <code>vector</code>. Defaults to {@link #SCALAR}, also when the property
+     * names an unknown or unavailable backend.
+     * @return The default backend
+     */
+    public static NoiseBackend getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Gets the fastest backend available on the current JVM.
+     * @return The fastest backend
+     */
+    public static NoiseBackend getFastest() {
+        return VECTOR.isAvailable() ? VECTOR : SCALAR;
+    }
+
+    private static NoiseBackend select(String name) {
+        if (name == null) return SCALAR;
+        final NoiseBackend backend;
+        try {
+            backend = valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException exception) {
+            // Throwing here would fail class initialization and leave every backend unusable.
+            return SCALAR;
+        }
+        return backend.isAvailable() ? backend : SCALAR;
+    }
+}
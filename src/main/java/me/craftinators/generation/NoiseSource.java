@@ -0,0 +1,139 @@
+package me.craftinators.generation;
+
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * 2D noise function that stages can be chained onto, such as domain warping or remapping.
+ * Each stage wraps the source it is called on, so a chain is evaluated one sample at a time
+ * without allocating or materializing intermediate regions.
+ */
+@FunctionalInterface
+public interface NoiseSource {
+    /**
+     * Samples the noise at the given point.
+     */
+    double noise(double x, double y);
+
+    /**
+     * Fills a region of noise into <code>out</code>.
+     * Sample <code>(i, j)</code> is equal to <code>noise(originX + i * stepX, originY + j * stepY)</code>
+     * and is written to <code>out[offset + j * stride + i]</code>.
+     * @param out The array to write to
+     * @param offset The index of the first sample
+     * @param stride The distance between the starts of neighbouring rows, at least <code>width</code>
+     * @param originX The x coordinate of the first sample
+     * @param originY The y coordinate of the first sample
+     * @param stepX The distance between neighbouring samples in a row
+     * @param stepY The distance between neighbouring rows
+     * @param width The number of samples per row
+     * @param height The number of rows
+     */
+    default void fillGrid(double[] out, int offset, int stride, double originX, double originY, double stepX, double stepY, int width, int height) {
+        SuperSimplexNoiseGenerator.checkRegion(out.length, offset, stride, width, height);
+        final long start = GenerationMetrics.start();
+        for (int j = 0; j < height; j++) {
+            final double y = originY + j * stepY;
+            int index = offset + j * stride;
+            for (int i = 0; i < width; i++) out[index++] = noise(originX + i * stepX, y);
+        }
+        GenerationMetrics.recordRegion(this, start, (long) width * height);
+    }
+
+    /**
+     * Samples this source with its coordinates multiplied by <code>frequency</code>.
+     */
+    default NoiseSource atFrequency(double frequency) {
+        return (x, y) -> noise(x * frequency, y * frequency);
+    }
+
+    /**
+     * Samples this source with <code>(dx, dy)</code> added to its coordinates.
+     */
+    default NoiseSource translate(double dx, double dy) {
+        return (x, y) -> noise(x + dx, y + dy);
+    }
+
+    /**
+     * Samples this source at a point displaced by two other sources, also known as domain warping.
+     * @param warpX The source displacing x
+     * @param warpY The source displacing y
+     * @param strength The displacement for a warp sample of 1
+     * @return <code>noise(x + strength * warpX(x, y), y + strength * warpY(x, y))</code>
+     */
+    default NoiseSource warp(NoiseSource warpX, NoiseSource warpY, double strength) {
+        return (x, y) -> noise(x + strength * warpX.noise(x, y), y + strength * warpY.noise(x, y));
+    }
+
+    /**
+     * Sums several octaves of this source, each at <code>lacunarity</code> times the frequency and
+     * <code>gain</code> times the amplitude of the previous one. Octaves are shifted apart so they don't share an origin.
+     * The result is normalized to the range of this source.
+     * For {@link SuperSimplexNoiseGenerator}, {@link LayeredNoiseGenerator} gives each octave its own seed instead.
+     * @param octaves The number of octaves, at least 1
+     * @param lacunarity The frequency multiplier between octaves
+     * @param gain The amplitude multiplier between octaves
+     */
+    default NoiseSource fractal(int octaves, double lacunarity, double gain) {
+        if (octaves < 1) throw new IllegalArgumentException("Octave count must be at least 1: " + octaves);
+        final double[] frequencies = new double[octaves], amplitudes = new double[octaves];
+        double frequency = 1, amplitude = 1, total = 0;
+        for (int octave = 0; octave < octaves; octave++) {
+            frequencies[octave] = frequency;
+            amplitudes[octave] = amplitude;
+            total += amplitude;
+            frequency *= lacunarity;
+            amplitude *= gain;
+        }
+        for (int octave = 0; octave < octaves; octave++) amplitudes[octave] /= total;
+        return (x, y) -> {
+            double value = 0;
+            for (int octave = 0; octave < frequencies.length; octave++) {
+                final double shift = octave * SuperSimplexNoiseGenerator.OCTAVE_SHIFT;
+                value += amplitudes[octave] * noise(x * frequencies[octave] + shift, y * frequencies[octave] - shift);
+            }
+            return value;
+        };
+    }
+
+    /**
+     * Multiplies the samples of this source by <code>scale</code> and adds <code>offset</code>.
+     */
+    default NoiseSource scaleOffset(double scale, double offset) {
+        return (x, y) -> noise(x, y) * scale + offset;
+    }
+
+    /**
+     * Clamps the samples of this source into <code>[min, max]</code>.
+     */
+    default NoiseSource clamp(double min, double max) {
+        if (min > max) throw new IllegalArgumentException("Minimum " + min + " is greater than maximum " + max);
+        return (x, y) -> Math.max(min, Math.min(max, noise(x, y)));
+    }
+
+    /**
+     * Linearly maps the samples of this source from <code>[fromMin, fromMax]</code> to <code>[toMin, toMax]</code>.
+     * Samples outside the first range end up outside the second.
+     */
+    default NoiseSource remap(double fromMin, double fromMax, double toMin, double toMax) {
+        if (fromMin == fromMax) throw new IllegalArgumentException("Range to map from is empty: " + fromMin);
+        final double scale = (toMax - toMin) / (fromMax - fromMin);
+        return scaleOffset(scale, toMin - fromMin * scale);
+    }
+
+    /**
+     * Applies a function to the samples of this source, such as a curve.
+     */
+    default NoiseSource map(DoubleUnaryOperator function) {
+        return (x, y) -> function.applyAsDouble(noise(x, y));
+    }
+
+    /**
+     * Combines the samples of this source with those of another at the same point, such as by adding or multiplying them.
+     * @param other The other source
+     * @param operator Combines a sample of this source, the first operand, with one of the other source
+     */
+    default NoiseSource combine(NoiseSource other, DoubleBinaryOperator operator) {
+        return (x, y) -> operator.applyAsDouble(noise(x, y), other.noise(x, y));
+    }
+}
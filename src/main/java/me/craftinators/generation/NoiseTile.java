@@ -0,0 +1,60 @@
+package me.craftinators.generation;
+
+import me.craftinators.math.Long2;
+
+/**
+ * Represents a square tile of generated noise, stored in row-major order.
+ */
+public final class NoiseTile {
+    private final Long2 coordinate;
+    private final int size;
+    private final double[] values;
+
+    /**
+     * Constructs a new NoiseTile. The tile takes ownership of <code>values</code>.
+     * @param coordinate The tile coordinate
+     * @param size The number of samples along each side
+     * @param values The samples, <code>size * size</code> long
+     */
+    public NoiseTile(Long2 coordinate, int size, double[] values) {
+        if (values.length != size * size) throw new IllegalArgumentException("Expected " + size * size + " samples, got " + values.length);
+        this.coordinate = coordinate;
+        this.size = size;
+        this.values = values;
+    }
+
+    public Long2 getCoordinate() {
+        return coordinate;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets an estimate of the memory used by this tile.
+     * @return The size in bytes
+     */
+    public long getSizeInBytes() {
+        // Tile, coordinate and array headers, plus the samples.
+        return 96L + (long) values.length * Double.BYTES;
+    }
+
+    /**
+     * Gets the sample at the given position inside the tile.
+     * @param x The x position, from 0 to <code>size - 1</code>
+     * @param y The y position, from 0 to <code>size - 1</code>
+     * @return The sample
+     */
+    public double get(int x, int y) {
+        return values[y * size + x];
+    }
+
+    /**
+     * Gets the backing array of samples. Must not be modified.
+     * @return The samples, in row-major order
+     */
+    public double[] getValues() {
+        return values;
+    }
+}
@@ -0,0 +1,261 @@
+package me.craftinators.generation;
+
+import me.craftinators.math.Long2;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of {@link NoiseTile}s, evicting the least recently used tiles once its size in bytes is exceeded.
+ * Keys are spread over independently locked stripes, each holding an equal share of the byte budget.
+ * Concurrent requests for the same missing tile wait on a single load.
+ */
+public final class NoiseTileCache {
+    /**
+     * Identifies a tile by the seed and configuration it was generated with, and its coordinate.
+     */
+    public static final class Key {
+        private final long seed, configuration;
+        private final Long2 coordinate;
+
+        /**
+         * Constructs a new Key.
+         * @param seed The seed of the generator
+         * @param configuration A fingerprint of everything else affecting the tile, such as {@link SuperSimplexNoiseGenerator#getFingerprint()}
+         * @param coordinate The tile coordinate
+         */
+        public Key(long seed, long configuration, Long2 coordinate) {
+            this.seed = seed;
+            this.configuration = configuration;
+            this.coordinate = coordinate;
+        }
+
+        public long getSeed() {
+            return seed;
+        }
+
+        public long getConfiguration() {
+            return configuration;
+        }
+
+        public Long2 getCoordinate() {
+            return coordinate;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key other)) return false;
+            return seed == other.seed && configuration == other.configuration && coordinate.equals(other.coordinate);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * Long.hashCode(seed) + Long.hashCode(configuration)) + coordinate.hashCode();
+        }
+    }
+
+    private static final class Entry {
+        private final CompletableFuture<NoiseTile> tile = new CompletableFuture<>();
+        // Zero until the tile has loaded, loading entries are never evicted.
+        private long bytes;
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private long bytes;
+    }
+
+    private final Stripe[] stripes;
+    private final long maxBytes, maxStripeBytes;
+    private final LongAdder hits = new LongAdder(), misses = new LongAdder(), evictions = new LongAdder();
+
+    /**
+     * Constructs a new NoiseTileCache.
+     * @param maxBytes The maximum size of all cached tiles together, see {@link NoiseTile#getSizeInBytes()}
+     * @param stripes The number of independently locked stripes
+     */
+    public NoiseTileCache(long maxBytes, int stripes) {
+        if (maxBytes < 0) throw new IllegalArgumentException("Maximum size must not be negative: " + maxBytes);
+        if (stripes < 1) throw new IllegalArgumentException("Stripe count must be at least 1: " + stripes);
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) this.stripes[i] = new Stripe();
+        this.maxBytes = maxBytes;
+        this.maxStripeBytes = maxBytes / stripes;
+    }
+
+    /**
+     * Gets a tile, loading it if it is not cached.
+     * If another thread is already loading the tile, waits for it instead.
+     * @param key The key of the tile
+     * @param loader Loads the tile on a miss, called on the calling thread
+     * @return The tile
+     */
+    public NoiseTile get(Key key, Function<Key, NoiseTile> loader) {
+        final Stripe stripe = stripe(key);
+        final Entry entry;
+        final boolean load;
+        stripe.lock.lock();
+        try {
+            final Entry existing = stripe.entries.get(key);
+            load = existing == null;
+            if (load) stripe.entries.put(key, entry = new Entry());
+            else entry = existing;
+        } finally {
+            stripe.lock.unlock();
+        }
+
+        GenerationMetrics.recordCacheLookup(!load);
+        if (!load) {
+            hits.increment();
+            try {
+                return entry.tile.join();
+            } catch (CompletionException exception) {
+                // The loading thread has already removed the entry, try loading again.
+                return get(key, loader);
+            }
+        }
+
+        misses.increment();
+        final NoiseTile tile;
+        try {
+            tile = loader.apply(key);
+        } catch (RuntimeException | Error exception) {
+            stripe.lock.lock();
+            try {
+                stripe.entries.remove(key, entry);
+            } finally {
+                stripe.lock.unlock();
+            }
+            entry.tile.completeExceptionally(exception);
+            throw exception;
+        }
+
+        stripe.lock.lock();
+        try {
+            // Skip accounting if the entry was invalidated while loading.
+            if (stripe.entries.get(key) == entry) {
+                entry.bytes = tile.getSizeInBytes();
+                stripe.bytes += entry.bytes;
+                evict(stripe);
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+        entry.tile.complete(tile);
+        return tile;
+    }
+
+    /**
+     * Gets a tile if it is cached and loaded.
+     * @param key The key of the tile
+     * @return The tile, or <code>null</code>
+     */
+    public NoiseTile getIfPresent(Key key) {
+        final Stripe stripe = stripe(key);
+        final Entry entry;
+        stripe.lock.lock();
+        try {
+            entry = stripe.entries.get(key);
+        } finally {
+            stripe.lock.unlock();
+        }
+        // The loader completes the future last, so a done future is a loaded tile, without reading bytes outside the lock.
+        if (entry == null || !entry.tile.isDone() || entry.tile.isCompletedExceptionally()) {
+            misses.increment();
+            GenerationMetrics.recordCacheLookup(false);
+            return null;
+        }
+        hits.increment();
+        GenerationMetrics.recordCacheLookup(true);
+        return entry.tile.join();
+    }
+
+    /**
+     * Gets a tile if it is cached and loaded, like {@link #getIfPresent(Key)} but without counting a hit or miss.
+     * For opportunistic lookups made while producing another tile, which would otherwise skew the hit rate.
+     * @param key The key of the tile
+     * @return The tile, or <code>null</code>
+     */
+    NoiseTile peek(Key key) {
+        final Stripe stripe = stripe(key);
+        final Entry entry;
+        stripe.lock.lock();
+        try {
+            entry = stripe.entries.get(key);
+        } finally {
+            stripe.lock.unlock();
+        }
+        if (entry == null || !entry.tile.isDone() || entry.tile.isCompletedExceptionally()) return null;
+        return entry.tile.join();
+    }
+
+    /**
+     * Removes all tiles. Tiles still loading are returned to their waiting callers, but not cached.
+     */
+    public void invalidateAll() {
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                stripe.entries.clear();
+                stripe.bytes = 0;
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Gets the size of all cached tiles together.
+     * @return The size in bytes
+     */
+    public long getSizeInBytes() {
+        long bytes = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                bytes += stripe.bytes;
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return bytes;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    private Stripe stripe(Key key) {
+        final int hash = key.hashCode();
+        return stripes[Math.floorMod(hash ^ (hash >>> 16), stripes.length)];
+    }
+
+    private void evict(Stripe stripe) {
+        final Iterator<Entry> iterator = stripe.entries.values().iterator();
+        while (stripe.bytes > maxStripeBytes && iterator.hasNext()) {
+            final Entry eldest = iterator.next();
+            if (eldest.bytes == 0) continue;
+            iterator.remove();
+            stripe.bytes -= eldest.bytes;
+            evictions.increment();
+        }
+    }
+}
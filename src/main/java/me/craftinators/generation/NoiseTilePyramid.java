@@ -0,0 +1,147 @@
+package me.craftinators.generation;
+
+import me.craftinators.math.Long2;
+import me.craftinators.math.MathUtil;
+
+/**
+ * Mipmapped {@link NoiseTile}s of {@link LayeredNoiseGenerator#filteredNoise(double, double, double)} for zoomable maps.
+ * Level <code>l</code> samples <code>step * 2^l</code> apart, filtered with that spacing as the footprint, so zoomed-out
+ * levels cover more area with fewer samples and fewer octaves. Sample <code>(i, j)</code> of tile <code>(tx, ty)</code>
+ * is at <code>((tx * tileSize + i) * levelStep, (ty * tileSize + j) * levelStep)</code>.
+ * <p>
+ * Every sample of a level is also a sample of the level below it, and every other sample of a level is one of the level
+ * above it. A tile being generated starts from whichever of those neighbouring levels are cached, only evaluating
+ * the octaves the levels differ in, see {@link LayeredNoiseGenerator#refineNoise(double, double, double, double, double)}.
+ * Zooming out of cached tiles therefore costs an octave or two per sample.
+ * Samples are equal up to rounding however they were generated.
+ */
+public final class NoiseTilePyramid {
+    private static final long PYRAMID_CONFIGURATION = 0x505952414D494453L; // "PYRAMIDS"
+
+    private final LayeredNoiseGenerator generator;
+    private final int tileSize, levels;
+    private final double step;
+    private final NoiseTileCache cache;
+    private final long[] configurations;
+
+    /**
+     * Constructs a new NoiseTilePyramid.
+     * @param generator The generator to sample
+     * @param tileSize The number of samples along each side of a tile, even so tiles line up between levels
+     * @param step The distance between neighbouring samples at level 0, the most detailed level
+     * @param levels The number of levels, at least 1
+     * @param cache The cache holding the tiles, may be shared
+     */
+    public NoiseTilePyramid(LayeredNoiseGenerator generator, int tileSize, double step, int levels, NoiseTileCache cache) {
+        if (tileSize < 2 || tileSize % 2 != 0) throw new IllegalArgumentException("Tile size must be even and at least 2: " + tileSize);
+        if (!(step > 0) || Double.isInfinite(step)) throw new IllegalArgumentException("Step must be positive and finite: " + step);
+        if (levels < 1) throw new IllegalArgumentException("Level count must be at least 1: " + levels);
+        this.generator = generator;
+        this.tileSize = tileSize;
+        this.levels = levels;
+        this.step = step;
+        this.cache = cache;
+        this.configurations = new long[levels];
+        for (int level = 0; level < levels; level++)
+            configurations[level] = MathUtil.mix64(ChunkGenerationService.getConfiguration(generator, tileSize, getStep(level)) ^ PYRAMID_CONFIGURATION);
+    }
+
+    public LayeredNoiseGenerator getGenerator() {
+        return generator;
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    public int getLevels() {
+        return levels;
+    }
+
+    /**
+     * Gets the distance between neighbouring samples of a level, which is also its footprint.
+     * @param level The level
+     * @return The step of the level
+     */
+    public double getStep(int level) {
+        checkLevel(level);
+        return Math.scalb(step, level);
+    }
+
+    /**
+     * Gets the least detailed level that still has a sample for every pixel of the given size.
+     * @param pixelSize The size of a pixel in noise coordinates
+     * @return The level, clamped to the levels of the pyramid
+     */
+    public int getLevel(double pixelSize) {
+        final double ratio = pixelSize / step;
+        if (!(ratio >= 2)) return 0;
+        return Math.min(levels - 1, Math.getExponent(ratio));
+    }
+
+    /**
+     * Gets a tile, generating it if it is not cached.
+     * @param level The level
+     * @param coordinate The tile coordinate within the level
+     * @return The tile
+     */
+    public NoiseTile getTile(int level, Long2 coordinate) {
+        checkLevel(level);
+        return cache.get(key(level, coordinate), key -> generate(level, coordinate));
+    }
+
+    /**
+     * Gets a tile if it is cached.
+     * @param level The level
+     * @param coordinate The tile coordinate within the level
+     * @return The tile, or <code>null</code>
+     */
+    public NoiseTile getTileIfPresent(int level, Long2 coordinate) {
+        checkLevel(level);
+        return cache.getIfPresent(key(level, coordinate));
+    }
+
+    private NoiseTile generate(int level, Long2 coordinate) {
+        final long start = GenerationMetrics.start();
+        final double[] values = new double[tileSize * tileSize];
+        final double levelStep = getStep(level);
+        final long tileX = coordinate.getX(), tileY = coordinate.getY();
+        final int half = tileSize / 2;
+
+        // The level above shares the samples at even indices, its tile holds this one in one of its quadrants.
+        // Neighbouring levels are peeked at, so these lookups don't count towards the cache hit rate.
+        final NoiseTile parent = level + 1 < levels ? cache.peek(key(level + 1, Long2.of(Math.floorDiv(tileX, 2), Math.floorDiv(tileY, 2)))) : null;
+        final double parentStep = level + 1 < levels ? getStep(level + 1) : 0;
+        final int parentX = Math.floorMod(tileX, 2) * half, parentY = Math.floorMod(tileY, 2) * half;
+
+        // Each quadrant of this tile is every other sample of one tile of the level below.
+        for (int quadrant = 0; quadrant < 4; quadrant++) {
+            final int quadrantX = quadrant & 1, quadrantY = quadrant >> 1;
+            final NoiseTile child = level > 0 ? cache.peek(key(level - 1, Long2.of(2 * tileX + quadrantX, 2 * tileY + quadrantY))) : null;
+            final double childStep = level > 0 ? getStep(level - 1) : 0;
+            for (int j = quadrantY * half; j < (quadrantY + 1) * half; j++) {
+                final double y = (tileY * tileSize + j) * levelStep;
+                for (int i = quadrantX * half; i < (quadrantX + 1) * half; i++) {
+                    final double x = (tileX * tileSize + i) * levelStep;
+                    final double value;
+                    if (child != null)
+                        value = generator.refineNoise(child.get(2 * i - quadrantX * tileSize, 2 * j - quadrantY * tileSize), x, y, childStep, levelStep);
+                    else if (parent != null && (i & 1) == 0 && (j & 1) == 0)
+                        value = generator.refineNoise(parent.get(parentX + i / 2, parentY + j / 2), x, y, parentStep, levelStep);
+                    else value = generator.filteredNoise(x, y, levelStep);
+                    values[j * tileSize + i] = value;
+                }
+            }
+        }
+        GenerationMetrics.recordRegion(generator, start, values.length);
+        return new NoiseTile(coordinate, tileSize, values);
+    }
+
+    private NoiseTileCache.Key key(int level, Long2 coordinate) {
+        return new NoiseTileCache.Key(generator.getSeed(), configurations[level], coordinate);
+    }
+
+    private void checkLevel(int level) {
+        if (level < 0 || level >= levels) throw new IndexOutOfBoundsException("Level " + level + " is outside the " + levels + " levels of the pyramid");
+    }
+}
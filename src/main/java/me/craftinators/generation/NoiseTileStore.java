@@ -0,0 +1,260 @@
+package me.craftinators.generation;
+
+import me.craftinators.math.Long2;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Persistent store of {@link NoiseTile}s, kept in a single memory-mapped file.
+ * The file holds a header, an index of tile coordinates and a fixed number of equally sized tile slots.
+ * Tiles are appended crash-safely: a tile only becomes visible once its samples and index entry are on disk.
+ * A file written for a different seed, configuration or tile size is cleared when opened.
+ */
+public final class NoiseTileStore implements AutoCloseable {
+    private static final long MAGIC = 0x4E4F495345544C53L; // "NOISETLS"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int INDEX_ENTRY_BYTES = 2 * Long.BYTES;
+    private static final int VERSION_OFFSET = 8, TILE_SIZE_OFFSET = 12, SEED_OFFSET = 16, CONFIGURATION_OFFSET = 24;
+    private static final int CAPACITY_OFFSET = 32, COUNT_OFFSET = 36;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer mapping;
+    private final long seed, configuration;
+    private final int tileSize, capacity, tileBytes, dataOffset;
+    private final Map<Long2, Integer> slots = new ConcurrentHashMap<>();
+    // Tiles being written, and written tiles waiting for the slots before them to be committed.
+    private final Set<Long2> pending = new HashSet<>();
+    private final Map<Integer, Long2> written = new HashMap<>();
+    private int count, reserved;
+    private boolean failed;
+    private volatile boolean closed;
+
+    private NoiseTileStore(FileChannel channel, MappedByteBuffer mapping, long seed, long configuration, int tileSize, int capacity) {
+        this.channel = channel;
+        this.mapping = mapping;
+        this.seed = seed;
+        this.configuration = configuration;
+        this.tileSize = tileSize;
+        this.capacity = capacity;
+        this.tileBytes = tileSize * tileSize * Double.BYTES;
+        this.dataOffset = HEADER_BYTES + capacity * INDEX_ENTRY_BYTES;
+    }
+
+    /**
+     * Opens a store, creating the file if it does not exist yet.
+     * Tiles already in the file are kept if it was written with the same seed, configuration, tile size and capacity,
+     * otherwise the file is cleared.
+     * @param path The file
+     * @param seed The seed of the generator, such as the {@link me.craftinators.Game} seed
+     * @param configuration A fingerprint of everything else affecting the tiles, such as {@link ChunkGenerationService#getConfiguration(SuperSimplexNoiseGenerator, int, double)}
+     * @param tileSize The number of samples along each side of a tile
+     * @param capacity The maximum number of tiles
+     * @return The store
+     * @throws IOException If the file could not be opened or mapped
+     */
+    public static NoiseTileStore open(Path path, long seed, long configuration, int tileSize, int capacity) throws IOException {
+        if (tileSize < 1) throw new IllegalArgumentException("Tile size must be at least 1: " + tileSize);
+        if (capacity < 1) throw new IllegalArgumentException("Capacity must be at least 1: " + capacity);
+        final long size = HEADER_BYTES + (long) capacity * (INDEX_ENTRY_BYTES + (long) tileSize * tileSize * Double.BYTES);
+        if (size > Integer.MAX_VALUE) throw new IllegalArgumentException("Store of " + size + " bytes is too large to map");
+
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() > size) channel.truncate(size);
+            final MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            mapping.order(ByteOrder.LITTLE_ENDIAN);
+            final NoiseTileStore store = new NoiseTileStore(channel, mapping, seed, configuration, tileSize, capacity);
+            if (store.isCompatible()) store.load();
+            else store.reset();
+            return store;
+        } catch (IOException | RuntimeException exception) {
+            channel.close();
+            throw exception;
+        }
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getConfiguration() {
+        return configuration;
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the number of tiles in the store.
+     * @return The number of tiles
+     */
+    public int size() {
+        return slots.size();
+    }
+
+    public boolean contains(Long2 coordinate) {
+        return slots.containsKey(coordinate);
+    }
+
+    /**
+     * Gets a read-only view of a tile's samples, backed directly by the mapped file.
+     * @param coordinate The tile coordinate
+     * @return The samples in row-major order, or <code>null</code> if the tile is not stored
+     */
+    public DoubleBuffer getValues(Long2 coordinate) {
+        checkOpen();
+        final Integer slot = slots.get(coordinate);
+        if (slot == null) return null;
+        return mapping.slice(dataOffset + slot * tileBytes, tileBytes).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().asReadOnlyBuffer();
+    }
+
+    /**
+     * Gets a tile, copying its samples out of the mapped file.
+     * @param coordinate The tile coordinate
+     * @return The tile, or <code>null</code> if it is not stored
+     */
+    public NoiseTile get(Long2 coordinate) {
+        final DoubleBuffer values = getValues(coordinate);
+        if (values == null) return null;
+        final double[] copy = new double[tileSize * tileSize];
+        values.get(copy);
+        return new NoiseTile(coordinate, tileSize, copy);
+    }
+
+    /**
+     * Appends a tile and waits for it to reach the disk. Tiles already stored are not replaced.
+     * Tiles from different threads are written and flushed in parallel, only committing them to the header is serialized.
+     * If writing a tile fails, the store stops accepting tiles until it is reopened.
+     * @param tile The tile, of this store's tile size
+     * @return Whether the tile was added, <code>false</code> if it was already stored or being stored, or the store is full
+     */
+    public boolean put(NoiseTile tile) {
+        if (tile.getSize() != tileSize) throw new IllegalArgumentException("Expected tile size " + tileSize + ", got " + tile.getSize());
+        final Long2 coordinate = tile.getCoordinate();
+        final int slot;
+        synchronized (this) {
+            checkOpen();
+            checkWritable();
+            if (reserved == capacity || slots.containsKey(coordinate) || !pending.add(coordinate)) return false;
+            slot = reserved++;
+        }
+
+        // Samples and index entry first, both are ignored until the count includes them.
+        try {
+            final int data = dataOffset + slot * tileBytes, index = HEADER_BYTES + slot * INDEX_ENTRY_BYTES;
+            mapping.slice(data, tileBytes).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().put(tile.getValues());
+            mapping.slice(index, INDEX_ENTRY_BYTES).order(ByteOrder.LITTLE_ENDIAN).putLong(0, coordinate.getX()).putLong(Long.BYTES, coordinate.getY());
+            mapping.force(data, tileBytes);
+            mapping.force(index, INDEX_ENTRY_BYTES);
+        } catch (RuntimeException | Error exception) {
+            synchronized (this) {
+                // Slots after this one can never be committed, as the count only covers a prefix of the slots.
+                failed = true;
+                pending.remove(coordinate);
+                notifyAll();
+            }
+            throw exception;
+        }
+
+        // Then commit it, along with any later slots that finished first.
+        synchronized (this) {
+            written.put(slot, coordinate);
+            int committed = count;
+            for (Long2 next; (next = written.remove(committed)) != null; committed++) {
+                slots.put(next, committed);
+                pending.remove(next);
+            }
+            if (committed != count) {
+                count = committed;
+                mapping.putInt(COUNT_OFFSET, count);
+                mapping.force(0, HEADER_BYTES);
+                notifyAll();
+            }
+            // Wait for slots before this one, so the tile is on disk when this returns.
+            boolean interrupted = false;
+            while (count <= slot) {
+                checkWritable();
+                try {
+                    wait();
+                } catch (InterruptedException exception) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+        return true;
+    }
+
+    /**
+     * Closes the file. The mapping itself is released once it is garbage collected.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) return;
+        closed = true;
+        try {
+            channel.close();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private boolean isCompatible() {
+        return mapping.getLong(0) == MAGIC
+                && mapping.getInt(VERSION_OFFSET) == VERSION
+                && mapping.getInt(TILE_SIZE_OFFSET) == tileSize
+                && mapping.getLong(SEED_OFFSET) == seed
+                && mapping.getLong(CONFIGURATION_OFFSET) == configuration
+                && mapping.getInt(CAPACITY_OFFSET) == capacity
+                && mapping.getInt(COUNT_OFFSET) >= 0
+                && mapping.getInt(COUNT_OFFSET) <= capacity;
+    }
+
+    private void load() {
+        count = reserved = mapping.getInt(COUNT_OFFSET);
+        for (int slot = 0; slot < count; slot++) {
+            final int index = HEADER_BYTES + slot * INDEX_ENTRY_BYTES;
+            slots.putIfAbsent(Long2.of(mapping.getLong(index), mapping.getLong(index + Long.BYTES)), slot);
+        }
+    }
+
+    private void reset() {
+        // Zero the count before the rest of the header, so a crash in between leaves an empty store.
+        mapping.putInt(COUNT_OFFSET, 0);
+        mapping.force(0, HEADER_BYTES);
+        mapping.putLong(0, MAGIC);
+        mapping.putInt(VERSION_OFFSET, VERSION);
+        mapping.putInt(TILE_SIZE_OFFSET, tileSize);
+        mapping.putLong(SEED_OFFSET, seed);
+        mapping.putLong(CONFIGURATION_OFFSET, configuration);
+        mapping.putInt(CAPACITY_OFFSET, capacity);
+        mapping.force(0, HEADER_BYTES);
+        count = reserved = 0;
+    }
+
+    private void checkWritable() {
+        if (failed) throw new IllegalStateException("Writing a tile failed, reopen the store to add tiles");
+    }
+
+    private void checkOpen() {
+        if (closed) throw new IllegalStateException("Store is closed");
+    }
+}
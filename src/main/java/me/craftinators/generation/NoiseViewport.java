@@ -0,0 +1,232 @@
+package me.craftinators.generation;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Window of noise samples that follows a scrolling camera, only generating samples that come into view.
+ * World sample <code>(x, y)</code> is <code>generator.noise(x * step, y * step)</code>, so a sample has the same value
+ * no matter how the viewport got there. Samples are kept in a ring buffer of <code>width * height</code> entries.
+ * <p>
+ * Every region generated is queued as a dirty {@link Strip}, which the renderer pulls with {@link #pollDirty()}.
+ * Not thread-safe, meant to be owned by the render thread.
+ */
+public final class NoiseViewport {
+    /**
+     * Rectangle of world samples, <code>[x, x + width) * [y, y + height)</code>.
+     */
+    public static final class Strip {
+        private final long x, y;
+        private final int width, height;
+
+        Strip(long x, long y, int width, int height) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+
+        public long getX() {
+            return x;
+        }
+
+        public long getY() {
+            return y;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+    }
+
+    private final SuperSimplexNoiseGenerator generator;
+    private final int width, height;
+    private final double step;
+    private final double[] samples;
+    private final ArrayDeque<Strip> dirty = new ArrayDeque<>();
+    private long dirtyArea;
+    private long originX, originY;
+
+    /**
+     * Constructs a new NoiseViewport and generates its first view, queued as a single dirty strip.
+     * @param generator The generator to sample
+     * @param width The number of samples per row
+     * @param height The number of rows
+     * @param step The distance between neighbouring samples
+     * @param originX The world x sample in the first column
+     * @param originY The world y sample in the first row
+     */
+    public NoiseViewport(SuperSimplexNoiseGenerator generator, int width, int height, double step, long originX, long originY) {
+        if (width < 1 || height < 1) throw new IllegalArgumentException("Viewport size must be at least 1x1: " + width + "x" + height);
+        this.generator = generator;
+        this.width = width;
+        this.height = height;
+        this.step = step;
+        this.samples = new double[Math.multiplyExact(width, height)];
+        this.originX = originX;
+        this.originY = originY;
+        expose(originX, originY, width, height);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public double getStep() {
+        return step;
+    }
+
+    public long getOriginX() {
+        return originX;
+    }
+
+    public long getOriginY() {
+        return originY;
+    }
+
+    /**
+     * Scrolls the viewport by the given number of samples.
+     * @param dx The number of columns to scroll
+     * @param dy The number of rows to scroll
+     */
+    public void move(long dx, long dy) {
+        moveTo(originX + dx, originY + dy);
+    }
+
+    /**
+     * Moves the viewport, generating only the samples that were not in view before.
+     * Costs time proportional to the scrolled area, up to a full refresh once the views no longer overlap.
+     * @param x The world x sample in the first column
+     * @param y The world y sample in the first row
+     */
+    public void moveTo(long x, long y) {
+        final long dx = x - originX, dy = y - originY;
+        originX = x;
+        originY = y;
+        if (dx >= width || -dx >= width || dy >= height || -dy >= height) {
+            expose(x, y, width, height);
+            return;
+        }
+
+        // Columns that came into view, over every row.
+        final int columns = (int) Math.abs(dx);
+        if (dx > 0) expose(x + width - columns, y, columns, height);
+        else if (dx < 0) expose(x, y, columns, height);
+
+        // Rows that came into view, over the columns that were already in view.
+        final long keptX = dx < 0 ? x + columns : x;
+        final int rows = (int) Math.abs(dy);
+        if (dy > 0) expose(keptX, y + height - rows, width - columns, rows);
+        else if (dy < 0) expose(keptX, y, width - columns, rows);
+    }
+
+    /**
+     * Gets a sample relative to the viewport.
+     * @param x The column, from 0 to <code>width - 1</code>
+     * @param y The row, from 0 to <code>height - 1</code>
+     * @return The sample
+     */
+    public double get(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) throw new IndexOutOfBoundsException("Sample (" + x + ", " + y + ") is outside the " + width + "x" + height + " viewport");
+        return samples[index(originX + x, originY + y)];
+    }
+
+    /**
+     * Copies the samples of a strip into <code>out</code>, sample <code>(i, j)</code> of the strip going to <code>out[offset + j * stride + i]</code>.
+     * @param strip A strip inside the current view, such as one returned by {@link #pollDirty()}
+     * @param out The array to write to
+     * @param offset The index of the first sample
+     * @param stride The distance between the starts of neighbouring rows, at least the strip width
+     */
+    public void copy(Strip strip, double[] out, int offset, int stride) {
+        if (strip.x < originX || strip.y < originY || strip.x + strip.width > originX + width || strip.y + strip.height > originY + height)
+            throw new IndexOutOfBoundsException("Strip is outside the current view");
+        SuperSimplexNoiseGenerator.checkRegion(out.length, offset, stride, strip.width, strip.height);
+        for (int j = 0; j < strip.height; j++) {
+            final int row = Math.floorMod(strip.y + j, height) * width;
+            int column = Math.floorMod(strip.x, width), index = offset + j * stride;
+            for (int i = 0; i < strip.width; i++) {
+                out[index++] = samples[row + column];
+                if (++column == width) column = 0;
+            }
+        }
+    }
+
+    /**
+     * Takes the oldest dirty strip, clipped to the current view. Strips scrolled out of view entirely are skipped.
+     * @return The strip, or <code>null</code> if every generated sample has been pulled
+     */
+    public Strip pollDirty() {
+        Strip strip;
+        while ((strip = dirty.poll()) != null) {
+            dirtyArea -= (long) strip.width * strip.height;
+            final long minX = Math.max(strip.x, originX), minY = Math.max(strip.y, originY);
+            final long maxX = Math.min(strip.x + strip.width, originX + width), maxY = Math.min(strip.y + strip.height, originY + height);
+            if (minX < maxX && minY < maxY) return new Strip(minX, minY, (int) (maxX - minX), (int) (maxY - minY));
+        }
+        return null;
+    }
+
+    /**
+     * Gets an iterator taking dirty strips as it goes, see {@link #pollDirty()}.
+     * @return The iterator
+     */
+    public Iterator<Strip> drainDirty() {
+        return new Iterator<>() {
+            private Strip next = pollDirty();
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Strip next() {
+                if (next == null) throw new NoSuchElementException();
+                final Strip strip = next;
+                next = pollDirty();
+                return strip;
+            }
+        };
+    }
+
+    private void expose(long x, long y, int stripWidth, int stripHeight) {
+        if (stripWidth == 0 || stripHeight == 0) return;
+        final long start = GenerationMetrics.start();
+        for (int j = 0; j < stripHeight; j++) {
+            final long worldY = y + j;
+            final double sampleY = worldY * step;
+            final int row = Math.floorMod(worldY, height) * width;
+            int column = Math.floorMod(x, width);
+            for (int i = 0; i < stripWidth; i++) {
+                samples[row + column] = generator.noise((x + i) * step, sampleY);
+                if (++column == width) column = 0;
+            }
+        }
+        GenerationMetrics.recordRegion(generator, start, (long) stripWidth * stripHeight);
+
+        // Once the queue covers more than the whole view, a single strip of the whole view replaces it.
+        final long area = (long) stripWidth * stripHeight;
+        if (dirtyArea + area > samples.length) {
+            dirty.clear();
+            dirty.add(new Strip(originX, originY, width, height));
+            dirtyArea = samples.length;
+        } else {
+            dirty.add(new Strip(x, y, stripWidth, stripHeight));
+            dirtyArea += area;
+        }
+    }
+
+    private int index(long x, long y) {
+        return Math.floorMod(y, height) * width + Math.floorMod(x, width);
+    }
+}
@@ -0,0 +1,69 @@
+package me.craftinators.generation;
+
+/**
+ * Maps noise values in <code>[min, max]</code> evenly onto all 65536 values of a <code>short</code>,
+ * <code>min</code> becoming {@link Short#MIN_VALUE} and <code>max</code> becoming {@link Short#MAX_VALUE}.
+ */
+public final class QuantizationRange {
+    private static final int LEVELS = 1 << 16;
+
+    /**
+     * The range of {@link SuperSimplexNoiseGenerator} and {@link LayeredNoiseGenerator} noise, [-1, 1].
+     */
+    public static final QuantizationRange NOISE = of(-1, 1);
+
+    private final double min, max, step;
+
+    private QuantizationRange(double min, double max) {
+        this.min = min;
+        this.max = max;
+        this.step = (max - min) / (LEVELS - 1);
+    }
+
+    /**
+     * Constructs a new QuantizationRange.
+     * @param min The value mapped to {@link Short#MIN_VALUE}
+     * @param max The value mapped to {@link Short#MAX_VALUE}, greater than <code>min</code>
+     * @return The new QuantizationRange
+     */
+    public static QuantizationRange of(double min, double max) {
+        if (!(min < max) || Double.isInfinite(min) || Double.isInfinite(max))
+            throw new IllegalArgumentException("Range must be finite and not empty: [" + min + ", " + max + "]");
+        return new QuantizationRange(min, max);
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * Gets the difference between neighbouring quantized values. Quantizing is off by at most half of it.
+     * @return The step
+     */
+    public double getStep() {
+        return step;
+    }
+
+    /**
+     * Quantizes a value, clamping it into the range first.
+     * @param value The value
+     * @return The nearest quantized value
+     */
+    public short quantize(double value) {
+        final long level = Math.round((value - min) / step);
+        return (short) (Math.max(0, Math.min(LEVELS - 1, level)) + Short.MIN_VALUE);
+    }
+
+    /**
+     * Reverses {@link #quantize(double)}.
+     * @param quantized The quantized value
+     * @return The value it stands for
+     */
+    public double dequantize(short quantized) {
+        return min + (quantized - Short.MIN_VALUE) * step;
+    }
+}
@@ -0,0 +1,27 @@
+package me.craftinators.generation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event for a region fill, committed by {@link GenerationMetrics}.
+ */
+@Name("me.craftinators.generation.RegionFill")
+@Label("Noise Region Fill")
+@Category({"Craftinators", "Generation"})
+@Description("A region of noise samples was generated")
+final class RegionFillEvent extends Event {
+    @Label("Generator")
+    String generator;
+
+    @Label("Samples")
+    long samples;
+
+    @Label("Fill Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long fillTime;
+}
@@ -1,23 +1,63 @@
 package me.craftinators.generation;
 
+import me.craftinators.math.MathUtil;
+
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
 
 /**
  * Generates random seeds, as well as seeds based on a <code>String</code>. Uses same long manipulation as seen in {@link java.util.Random}.
+ * <p>
+ * Random seeds are made by scrambling a counter with a bijective mixing function, so no two seeds generated by the same
+ * process are equal. Each thread reserves counter values in blocks, so generating seeds from many threads at once does not contend.
  */
 public final class SeedGenerator {
     private SeedGenerator() {}
 
     private static final long multiplier = 0x5DEECE66DL;
     private static final long mask = (1L << 48) - 1;
-    private static final AtomicLong seedUniquifier = new AtomicLong(8682522807148012L);
+    private static final int BLOCK_SIZE = 1024;
+    // Differs between runs, so processes do not share a seed sequence.
+    private static final long base = MathUtil.mix64(8682522807148012L ^ System.nanoTime());
+    private static final AtomicLong counter = new AtomicLong();
+    // Next and end counter values of the block reserved by the thread.
+    private static final ThreadLocal<long[]> block = ThreadLocal.withInitial(() -> new long[2]);
 
     /**
      * Generates a random seed.
      * @return a random seed
      */
     public static long generate() {
-        return seedUniquifier() ^ System.nanoTime();
+        final long[] range = block.get();
+        if (range[0] == range[1]) {
+            range[0] = counter.getAndAdd(BLOCK_SIZE);
+            range[1] = range[0] + BLOCK_SIZE;
+        }
+        return scramble(range[0]++);
+    }
+
+    /**
+     * Generates several random seeds at once.
+     * @param count the number of seeds
+     * @return the random seeds
+     */
+    public static long[] generate(int count) {
+        if (count < 0) throw new IllegalArgumentException("Seed count must not be negative: " + count);
+        final long start = counter.getAndAdd(count);
+        final long[] seeds = new long[count];
+        for (int i = 0; i < count; i++) seeds[i] = scramble(start + i);
+        return seeds;
+    }
+
+    /**
+     * Generates a stream of random seeds. The seeds are reserved up front, so the stream may be consumed in parallel.
+     * @param count the number of seeds
+     * @return a stream of random seeds
+     */
+    public static LongStream stream(long count) {
+        if (count < 0) throw new IllegalArgumentException("Seed count must not be negative: " + count);
+        final long start = counter.getAndAdd(count);
+        return LongStream.range(start, start + count).map(SeedGenerator::scramble);
     }
 
     /**
@@ -29,12 +69,20 @@ public final class SeedGenerator {
         return initialScramble(seed.hashCode());
     }
 
-    private static long seedUniquifier() {
-        for (;;) {
-            long current = seedUniquifier.get();
-            long next = current * 1181783497276652981L;
-            if (seedUniquifier.compareAndSet(current, next)) return next;
-        }
+    /**
+     * Derives a seed for a coordinate from a parent seed, such that every coordinate gets an unrelated seed.
+     * Derived seeds can be derived from again, splitting a seed hierarchically.
+     * @param seed The parent seed
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @return The derived seed
+     */
+    public static long derive(long seed, long x, long y) {
+        return MathUtil.mix64(MathUtil.mix64(seed + MathUtil.mix64(x)) + y);
+    }
+
+    private static long scramble(long count) {
+        return MathUtil.mix64(base + count);
     }
 
     private static long initialScramble(long seed) {
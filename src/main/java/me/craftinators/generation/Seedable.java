@@ -1,5 +1,28 @@
 package me.craftinators.generation;
 
+import me.craftinators.math.Long2;
+
+import java.util.SplittableRandom;
+
 public interface Seedable {
     long getSeed();
+
+    /**
+     * Creates a random number generator seeded with {@link #getSeed()}.
+     * Each call returns a new, independent generator producing the same stream, so it can be owned by a single thread.
+     * @return The generator
+     */
+    default SplittableRandom createRandom() {
+        return new SplittableRandom(getSeed());
+    }
+
+    /**
+     * Creates a random number generator for the given coordinate, such as a chunk, seeded from {@link #getSeed()}.
+     * Different coordinates get unrelated streams, and the same coordinate always gets the same stream.
+     * @param coordinate The coordinate
+     * @return The generator
+     */
+    default SplittableRandom createRandom(Long2 coordinate) {
+        return new SplittableRandom(SeedGenerator.derive(getSeed(), coordinate.getX(), coordinate.getY()));
+    }
 }
@@ -1,31 +1,191 @@
 package me.craftinators.generation;
 
 import me.craftinators.math.Double2;
-import me.craftinators.math.Long2;
+import me.craftinators.math.MathUtil;
 
 /**
  * 2D OpenSimplex2S/SuperSimplex noise generator.
  */
-public class SuperSimplexNoiseGenerator implements Seedable {
-    private static final Long2 PRIME = Long2.of(0x5205402B9270C86FL, 0x598CD327003817B5L);
-    private static final long HASH_MULTIPLIER = 0x53A3F72DEEC546F5L;
-    private static final double SKEW = 0.366025403784439d, UNSKEW = -0.21132486540518713d;
-    private static final int N_GRADS_EXPONENT = 7;
-    private static final int N_GRADS = 1 << N_GRADS_EXPONENT;
-    private static final double RSQUARED = 0.66666666666666666d;
+public class SuperSimplexNoiseGenerator implements Seedable, NoiseSource {
+    static final long PRIME_X = 0x5205402B9270C86FL, PRIME_Y = 0x598CD327003817B5L;
+    static final long HASH_MULTIPLIER = 0x53A3F72DEEC546F5L;
+    static final double SKEW = 0.366025403784439d, UNSKEW = -0.21132486540518713d;
+    static final int N_GRADS_EXPONENT = 7;
+    static final int N_GRADS = 1 << N_GRADS_EXPONENT;
+    static final double RSQUARED = 0.66666666666666666d;
+    // Distance between the origins of neighbouring octaves in NoiseSource.fractal. Octaves of one source share the seed,
+    // so without it they would all line up at the origin; an offset far from any lattice period keeps them apart.
+    static final double OCTAVE_SHIFT = 101.3;
+    // Derivative scratch for region fills, reused so they do not allocate.
+    private static final ThreadLocal<double[]> DERIVATIVES = ThreadLocal.withInitial(() -> new double[2]);
 
     private final long seed;
+    private final GradientMode mode;
+    private final GradientTable table;
 
     public SuperSimplexNoiseGenerator(long seed) {
+        this(seed, GradientMode.HASH);
+    }
+
+    /**
+     * Constructs a new SuperSimplexNoiseGenerator.
+     * @param seed The seed
+     * @param mode How gradients are picked
+     */
+    public SuperSimplexNoiseGenerator(long seed, GradientMode mode) {
         this.seed = seed;
+        this.mode = mode;
+        this.table = createTable(seed, mode);
     }
 
     /**
      * 2D OpenSimplex2S/SuperSimplex noise, standard lattice orientation.
      */
     public double at(Double2 point) {
-        final double skew = point.sum() * SKEW;
-        return getBaseNoise(point.add(skew));
+        return noise(point.getX(), point.getY());
+    }
+
+    /**
+     * 2D OpenSimplex2S/SuperSimplex noise, standard lattice orientation.
+     * Equivalent to {@link #at(Double2)}, but does not allocate.
+     */
+    @Override
+    public double noise(double x, double y) {
+        return noise(seed, table, x, y);
+    }
+
+    /**
+     * Noise together with its analytic derivatives, at the cost of a single evaluation.
+     * @param derivatives The array to write the derivatives to, <code>d/dx</code> at index 0 and <code>d/dy</code> at index 1
+     * @return The same value as {@link #noise(double, double)}
+     */
+    public double noise(double x, double y, double[] derivatives) {
+        derivatives[0] = 0;
+        derivatives[1] = 0;
+        return noise(seed, table, x, y, derivatives);
+    }
+
+    static double noise(long seed, double x, double y) {
+        return noise(seed, null, x, y);
+    }
+
+    static double noise(long seed, GradientTable table, double x, double y) {
+        return noise(seed, table, x, y, null);
+    }
+
+    // The skew is undone exactly by the vertex offsets, so derivatives need no correction for it.
+    static double noise(long seed, GradientTable table, double x, double y, double[] derivatives) {
+        final double skew = (x + y) * SKEW;
+        return getBaseNoise(seed, table, x + skew, y + skew, derivatives);
+    }
+
+    static GradientTable createTable(long seed, GradientMode mode) {
+        return mode == GradientMode.TABLE ? new GradientTable(seed) : null;
+    }
+
+    /**
+     * Fills a region of noise into <code>out</code>, in row-major order starting at index 0.
+     * Sample <code>(i, j)</code> is equal to <code>noise(originX + i * step, originY + j * step)</code>.
+     * @param out The array to write to, at least <code>width * height</code> long
+     * @param originX The x coordinate of the first sample
+     * @param originY The y coordinate of the first sample
+     * @param step The distance between neighbouring samples
+     * @param width The number of samples per row
+     * @param height The number of rows
+     */
+    public void fillGrid(double[] out, double originX, double originY, double step, int width, int height) {
+        fillGrid(out, 0, width, originX, originY, step, step, width, height);
+    }
+
+    /**
+     * Fills a region of noise into <code>out</code>.
+     * Sample <code>(i, j)</code> is equal to <code>noise(originX + i * stepX, originY + j * stepY)</code>
+     * and is written to <code>out[offset + j * stride + i]</code>.
+     * @param out The array to write to
+     * @param offset The index of the first sample
+     * @param stride The distance between the starts of neighbouring rows, at least <code>width</code>
+     * @param originX The x coordinate of the first sample
+     * @param originY The y coordinate of the first sample
+     * @param stepX The distance between neighbouring samples in a row
+     * @param stepY The distance between neighbouring rows
+     * @param width The number of samples per row
+     * @param height The number of rows
+     */
+    @Override
+    public void fillGrid(double[] out, int offset, int stride, double originX, double originY, double stepX, double stepY, int width, int height) {
+        checkRegion(out.length, offset, stride, width, height);
+        final long start = GenerationMetrics.start();
+        for (int j = 0; j < height; j++) {
+            // Row-invariant part of the sample coordinates.
+            final double y = originY + j * stepY;
+            int index = offset + j * stride;
+            for (int i = 0; i < width; i++) out[index++] = noise(originX + i * stepX, y);
+        }
+        GenerationMetrics.recordRegion(this, start, (long) width * height);
+    }
+
+    /**
+     * Fills a region of noise into <code>out</code> at float precision, using half the memory of the double version.
+     * Samples are evaluated in double precision and rounded once, so they are off by at most half an ulp.
+     * See {@link #fillGrid(double[], int, int, double, double, double, double, int, int)} for the layout.
+     */
+    public void fillGrid(float[] out, int offset, int stride, double originX, double originY, double stepX, double stepY, int width, int height) {
+        checkRegion(out.length, offset, stride, width, height);
+        final long start = GenerationMetrics.start();
+        for (int j = 0; j < height; j++) {
+            final double y = originY + j * stepY;
+            int index = offset + j * stride;
+            for (int i = 0; i < width; i++) out[index++] = (float) noise(originX + i * stepX, y);
+        }
+        GenerationMetrics.recordRegion(this, start, (long) width * height);
+    }
+
+    /**
+     * Fills a region of noise into <code>out</code> as 16-bit values, using a quarter of the memory of the double version.
+     * See {@link #fillGrid(double[], int, int, double, double, double, double, int, int)} for the layout.
+     * @param range Maps samples to and from <code>short</code>, such as {@link QuantizationRange#NOISE}
+     */
+    public void fillGrid(short[] out, QuantizationRange range, int offset, int stride, double originX, double originY, double stepX, double stepY, int width, int height) {
+        checkRegion(out.length, offset, stride, width, height);
+        final long start = GenerationMetrics.start();
+        for (int j = 0; j < height; j++) {
+            final double y = originY + j * stepY;
+            int index = offset + j * stride;
+            for (int i = 0; i < width; i++) out[index++] = range.quantize(noise(originX + i * stepX, y));
+        }
+        GenerationMetrics.recordRegion(this, start, (long) width * height);
+    }
+
+    /**
+     * Fills a region of noise and its derivatives, see {@link #fillGrid(double[], int, int, double, double, double, double, int, int)}
+     * and {@link #noise(double, double, double[])}. All three arrays use the same layout.
+     * @param values The array to write the noise to
+     * @param derivativesX The array to write <code>d/dx</code> to
+     * @param derivativesY The array to write <code>d/dy</code> to
+     */
+    public void fillGrid(double[] values, double[] derivativesX, double[] derivativesY, int offset, int stride, double originX, double originY, double stepX, double stepY, int width, int height) {
+        checkRegion(Math.min(values.length, Math.min(derivativesX.length, derivativesY.length)), offset, stride, width, height);
+        final long start = GenerationMetrics.start();
+        final double[] derivatives = DERIVATIVES.get();
+        for (int j = 0; j < height; j++) {
+            final double y = originY + j * stepY;
+            int index = offset + j * stride;
+            for (int i = 0; i < width; i++, index++) {
+                values[index] = noise(originX + i * stepX, y, derivatives);
+                derivativesX[index] = derivatives[0];
+                derivativesY[index] = derivatives[1];
+            }
+        }
+        GenerationMetrics.recordRegion(this, start, (long) width * height);
+    }
+
+    static void checkRegion(int length, int offset, int stride, int width, int height) {
+        if (width < 0 || height < 0) throw new IllegalArgumentException("Region size must not be negative: " + width + "x" + height);
+        if (stride < width) throw new IllegalArgumentException("Stride " + stride + " is smaller than width " + width);
+        if (width == 0 || height == 0) return;
+        long extent = (long) (height - 1) * stride + width;
+        if (offset < 0 || offset + extent > length)
+            throw new IndexOutOfBoundsException("Region of " + extent + " samples at offset " + offset + " does not fit in array of length " + length);
     }
 
     @Override
@@ -33,7 +193,24 @@ public class SuperSimplexNoiseGenerator implements Seedable {
         return seed;
     }
 
-    private static final double[] GRADIENTS = new double[] {
+    /**
+     * Gets a fingerprint of this generator's configuration, including its seed.
+     * Generators with equal fingerprints produce the same noise.
+     * @return The fingerprint
+     */
+    public long getFingerprint() {
+        return MathUtil.mix64(seed ^ mode.name().hashCode());
+    }
+
+    public GradientMode getGradientMode() {
+        return mode;
+    }
+
+    GradientTable getTable() {
+        return table;
+    }
+
+    static final double[] GRADIENTS = new double[] {
             6.9808964966064915, 16.853374757322378, 16.853374757322378, 6.9808964966064915, 16.853374757322378, -6.9808964966064915, 6.9808964966064915, -16.853374757322378,
             -6.9808964966064915, -16.853374757322378, -16.853374757322378, -6.9808964966064915, -16.853374757322378, 6.9808964966064915, -6.9808964966064915, 16.853374757322378,
             2.3810537002291805, 18.085899875926934, 11.105002835667612, 14.472321057093197, 14.472321057093197, 11.105002835667612, 18.085899875926934, 2.3810537002291805,
@@ -69,76 +246,94 @@ public class SuperSimplexNoiseGenerator implements Seedable {
     };
 
     @SuppressWarnings("DuplicatedCode") // TODO Remove duplication
-    private double getBaseNoise(Double2 point) {
+    // Derivatives, if not null, are accumulated into its first two entries.
+    private static double getBaseNoise(long seed, GradientTable table, double xs, double ys, double[] derivatives) {
         // Get base points and offsets.
-        Long2 flooredPoint = point.floor();
-        Double2 decimalPoint = point.subtract(flooredPoint);
+        long xsb = MathUtil.fastFloor(xs), ysb = MathUtil.fastFloor(ys);
+        double xi = xs - xsb, yi = ys - ysb;
 
         // Prime pre-multiplication for hash.
-        Long2 hashedPoint = flooredPoint.hadamard(PRIME);
+        long xsbp = xsb * PRIME_X, ysbp = ysb * PRIME_Y;
 
-        double offset = decimalPoint.sum() * UNSKEW;
-        Double2 delta = decimalPoint.add(offset);
+        double offset = (xi + yi) * UNSKEW;
+        double dx0 = xi + offset, dy0 = yi + offset;
 
         // First vertex.
-        double firstVertex = RSQUARED - Math.pow(delta.getX(), 2) - Math.pow(delta.getY(), 2);
-        double value = Math.pow(firstVertex, 4) * getGradient(hashedPoint, delta);
+        double firstVertex = RSQUARED - dx0 * dx0 - dy0 * dy0;
+        double value = contribution(seed, table, xsbp, ysbp, dx0, dy0, firstVertex, derivatives);
 
         // Second vertex.
         double secondVertex = (2 * (1 + 2 * UNSKEW) * (1 / UNSKEW + 2)) * offset + ((-2 * (1 + 2 * UNSKEW) * (1 + 2 * UNSKEW)) + firstVertex);
-        Double2 delta1 = delta.subtract(1 + 2 * UNSKEW);
-        value += Math.pow(secondVertex, 4) * getGradient(hashedPoint.add(PRIME), delta1);
+        double dx1 = dx0 - (1 + 2 * UNSKEW), dy1 = dy0 - (1 + 2 * UNSKEW);
+        value += contribution(seed, table, xsbp + PRIME_X, ysbp + PRIME_Y, dx1, dy1, secondVertex, derivatives);
 
         // Third and fourth vertices.
         // Nested conditionals were faster than compact bit logic/arithmetic.
-        double decimalDifference = decimalPoint.difference();
+        double xmyi = xi - yi;
         if (offset < UNSKEW) {
-            if (decimalPoint.getX() + decimalDifference > 1) {
-                Double2 delta2 = delta.subtract(3 * UNSKEW + 2, 3 * UNSKEW + 1);
-                double thirdVertex = RSQUARED - Math.pow(delta2.getX(), 2) - Math.pow(delta2.getY(), 2);
-                if (thirdVertex > 0) value += Math.pow(thirdVertex, 4) * getGradient(hashedPoint.add(PRIME.getX() << 1, PRIME.getY()), delta2);
+            if (xi + xmyi > 1) {
+                double dx2 = dx0 - (3 * UNSKEW + 2), dy2 = dy0 - (3 * UNSKEW + 1);
+                double thirdVertex = RSQUARED - dx2 * dx2 - dy2 * dy2;
+                if (thirdVertex > 0) value += contribution(seed, table, xsbp + (PRIME_X << 1), ysbp + PRIME_Y, dx2, dy2, thirdVertex, derivatives);
             } else {
-                Double2 delta2 = delta.subtract(UNSKEW, UNSKEW + 1);
-                double thirdVertex = RSQUARED - Math.pow(delta2.getX(), 2) - Math.pow(delta2.getY(), 2);
-                if (thirdVertex > 0) value += Math.pow(thirdVertex, 4) * getGradient(hashedPoint.add(0, PRIME.getY()), delta2);
+                double dx2 = dx0 - UNSKEW, dy2 = dy0 - (UNSKEW + 1);
+                double thirdVertex = RSQUARED - dx2 * dx2 - dy2 * dy2;
+                if (thirdVertex > 0) value += contribution(seed, table, xsbp, ysbp + PRIME_Y, dx2, dy2, thirdVertex, derivatives);
             }
-            if (decimalPoint.getY() - decimalDifference > 1) {
-                Double2 delta3 = delta.subtract(3 * UNSKEW + 1, 3 * UNSKEW + 2);
-                double fourthVertex = RSQUARED - Math.pow(delta3.getX(), 2) - Math.pow(delta3.getY(), 2);
-                if (fourthVertex > 0) value += Math.pow(fourthVertex, 4) * getGradient(hashedPoint.add(PRIME.getX(), PRIME.getY() << 1), delta3);
+            if (yi - xmyi > 1) {
+                double dx3 = dx0 - (3 * UNSKEW + 1), dy3 = dy0 - (3 * UNSKEW + 2);
+                double fourthVertex = RSQUARED - dx3 * dx3 - dy3 * dy3;
+                if (fourthVertex > 0) value += contribution(seed, table, xsbp + PRIME_X, ysbp + (PRIME_Y << 1), dx3, dy3, fourthVertex, derivatives);
             } else {
-                Double2 delta3 = delta.subtract(UNSKEW + 1, UNSKEW);
-                double fourthVertex = RSQUARED - Math.pow(delta3.getX(), 2) - Math.pow(delta3.getY(), 2);
-                if (fourthVertex > 0) value += Math.pow(fourthVertex, 4) * getGradient(hashedPoint.add(PRIME.getX(), 0), delta3);
+                double dx3 = dx0 - (UNSKEW + 1), dy3 = dy0 - UNSKEW;
+                double fourthVertex = RSQUARED - dx3 * dx3 - dy3 * dy3;
+                if (fourthVertex > 0) value += contribution(seed, table, xsbp + PRIME_X, ysbp, dx3, dy3, fourthVertex, derivatives);
             }
         } else {
-            if (decimalPoint.getX() + decimalDifference < 0) {
-                Double2 delta2 = delta.add(1 + UNSKEW, UNSKEW);
-                double thirdVertex = RSQUARED - Math.pow(delta2.getX(), 2) - Math.pow(delta2.getY(), 2);
-                if (thirdVertex > 0) value += Math.pow(thirdVertex, 4) * getGradient(hashedPoint.subtract(PRIME.getX(), 0), delta2);
+            if (xi + xmyi < 0) {
+                double dx2 = dx0 + (1 + UNSKEW), dy2 = dy0 + UNSKEW;
+                double thirdVertex = RSQUARED - dx2 * dx2 - dy2 * dy2;
+                if (thirdVertex > 0) value += contribution(seed, table, xsbp - PRIME_X, ysbp, dx2, dy2, thirdVertex, derivatives);
             } else {
-                Double2 delta2 = delta.subtract(UNSKEW + 1, UNSKEW);
-                double thirdVertex = RSQUARED - Math.pow(delta2.getX(), 2) - Math.pow(delta2.getY(), 2);
-                if (thirdVertex > 0) value += Math.pow(thirdVertex, 4) * getGradient(hashedPoint.add(PRIME.getX(), 0), delta2);
+                double dx2 = dx0 - (UNSKEW + 1), dy2 = dy0 - UNSKEW;
+                double thirdVertex = RSQUARED - dx2 * dx2 - dy2 * dy2;
+                if (thirdVertex > 0) value += contribution(seed, table, xsbp + PRIME_X, ysbp, dx2, dy2, thirdVertex, derivatives);
             }
-            if (decimalPoint.getY() < decimalDifference) {
-                Double2 delta2 = delta.add(UNSKEW, UNSKEW + 1);
-                double thirdVertex = RSQUARED - Math.pow(delta2.getX(), 2) - Math.pow(delta2.getY(), 2);
-                if (thirdVertex > 0) value += Math.pow(thirdVertex, 4) * getGradient(hashedPoint.subtract(0, PRIME.getY()), delta2);
+            if (yi < xmyi) {
+                double dx3 = dx0 + UNSKEW, dy3 = dy0 + (UNSKEW + 1);
+                double fourthVertex = RSQUARED - dx3 * dx3 - dy3 * dy3;
+                if (fourthVertex > 0) value += contribution(seed, table, xsbp, ysbp - PRIME_Y, dx3, dy3, fourthVertex, derivatives);
             } else {
-                Double2 delta2 = delta.subtract(UNSKEW, UNSKEW + 1);
-                double thirdVertex = RSQUARED - Math.pow(delta2.getX(), 2) - Math.pow(delta2.getY(), 2);
-                if (thirdVertex > 0) value += Math.pow(thirdVertex, 4) * getGradient(hashedPoint.add(0, PRIME.getY()), delta2);
+                double dx3 = dx0 - UNSKEW, dy3 = dy0 - (UNSKEW + 1);
+                double fourthVertex = RSQUARED - dx3 * dx3 - dy3 * dy3;
+                if (fourthVertex > 0) value += contribution(seed, table, xsbp, ysbp + PRIME_Y, dx3, dy3, fourthVertex, derivatives);
             }
         }
         return value;
     }
 
-    private double getGradient(Long2 point, Double2 delta) {
-        long hash = getSeed() ^ point.getX() ^ point.getY();
+    private static double contribution(long seed, GradientTable table, long hx, long hy, double dx, double dy, double falloff, double[] derivatives) {
+        final int gradient = gradient(seed, table, hx, hy);
+        final double gradientX = GRADIENTS[gradient], gradientY = GRADIENTS[gradient | 1];
+        final double extrapolation = gradientX * dx + gradientY * dy;
+        if (derivatives != null) {
+            // d/dx of falloff^4 * extrapolation, where d(falloff)/dx = -2 * dx.
+            final double square = falloff * falloff;
+            final double slope = -8 * square * falloff * extrapolation;
+            derivatives[0] += square * square * gradientX + slope * dx;
+            derivatives[1] += square * square * gradientY + slope * dy;
+        }
+        return Math.pow(falloff, 4) * extrapolation;
+    }
+
+    /**
+     * Gets the offset into {@link #GRADIENTS} of the gradient of a vertex, given its prime pre-multiplied coordinates.
+     */
+    private static int gradient(long seed, GradientTable table, long hx, long hy) {
+        if (table != null) return table.gradient(hx, hy);
+        long hash = seed ^ hx ^ hy;
         hash *= HASH_MULTIPLIER;
         hash ^= hash >> (64 - N_GRADS_EXPONENT + 1);
-        int gradient = (int) hash & ((N_GRADS - 1) << 1);
-        return GRADIENTS[gradient] * delta.getX() + GRADIENTS[gradient | 1] * delta.getY();
+        return (int) hash & ((N_GRADS - 1) << 1);
     }
 }
@@ -0,0 +1,167 @@
+package me.craftinators.generation;
+
+import me.craftinators.math.MathUtil;
+
+import static me.craftinators.generation.SuperSimplexNoiseGenerator.HASH_MULTIPLIER;
+import static me.craftinators.generation.SuperSimplexNoiseGenerator.PRIME_X;
+import static me.craftinators.generation.SuperSimplexNoiseGenerator.PRIME_Y;
+import static me.craftinators.generation.SuperSimplexNoiseGenerator.checkRegion;
+
+/**
+ * 3D OpenSimplex2S/SuperSimplex noise generator, for volumetric fields such as densities.
+ * Sums contributions from the vertices of a body-centered cubic lattice, made of two cubic lattices offset by half a cube.
+ */
+public final class SuperSimplexNoiseGenerator3D implements Seedable {
+    static final long PRIME_Z = 0x5BCC226E9FA0BACBL;
+    // Hashes the offset lattice independently of the first one.
+    private static final long SECOND_LATTICE_SEED_FLIP = -0x52D547B2E96ED629L;
+    private static final int N_GRADS_EXPONENT = 4;
+    private static final int N_GRADS = 1 << N_GRADS_EXPONENT;
+    // Distance between neighbouring vertices of the lattice, so only the 8 corners of each cube can contribute.
+    private static final double RSQUARED = 0.75d;
+    // Measured peak of the unscaled noise, brings the output to [-1, 1].
+    private static final double NORMALIZER = 1 / 0.1106d;
+
+    /**
+     * Receives a slab of a volume, see {@link #forEachSlab(double, double, double, double, int, int, int, int, SlabConsumer)}.
+     */
+    @FunctionalInterface
+    public interface SlabConsumer {
+        /**
+         * Accepts a slab.
+         * @param slab The samples, laid out as in {@link #fillVolume(double[], int, double, double, double, double, int, int, int)}.
+         *             Reused for the next slab, so it must not be kept
+         * @param firstLayer The z index within the volume of the first layer in the slab
+         * @param layers The number of layers in the slab
+         */
+        void accept(double[] slab, int firstLayer, int layers);
+    }
+
+    private final long seed;
+
+    public SuperSimplexNoiseGenerator3D(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * 3D OpenSimplex2S/SuperSimplex noise, with the lattice rotated so that no axis lines up with a cube diagonal.
+     */
+    public double noise(double x, double y, double z) {
+        return noise(seed, x, y, z);
+    }
+
+    static double noise(long seed, double x, double y, double z) {
+        // Reflection through the plane perpendicular to the main diagonal.
+        final double r = (2d / 3d) * (x + y + z);
+        return getBaseNoise(seed, r - x, r - y, r - z) * NORMALIZER;
+    }
+
+    /**
+     * Fills a volume of noise into <code>out</code>.
+     * Sample <code>(i, j, k)</code> is equal to <code>noise(originX + i * step, originY + j * step, originZ + k * step)</code>
+     * and is written to <code>out[offset + (k * height + j) * width + i]</code>.
+     * Disjoint volumes can be filled from different threads.
+     * @param out The array to write to
+     * @param offset The index of the first sample
+     * @param originX The x coordinate of the first sample
+     * @param originY The y coordinate of the first sample
+     * @param originZ The z coordinate of the first sample
+     * @param step The distance between neighbouring samples
+     * @param width The number of samples per row
+     * @param height The number of rows per layer
+     * @param depth The number of layers
+     */
+    public void fillVolume(double[] out, int offset, double originX, double originY, double originZ, double step, int width, int height, int depth) {
+        if (depth < 0) throw new IllegalArgumentException("Volume depth must not be negative: " + depth);
+        checkRegion(out.length, offset, width, width, Math.multiplyExact(height, depth));
+        fillLayers(out, offset, originX, originY, originZ, step, width, height, 0, depth);
+    }
+
+    // Fills layers firstLayer until firstLayer + layers of the volume, computing z the same way for every slab.
+    private void fillLayers(double[] out, int offset, double originX, double originY, double originZ, double step, int width, int height, int firstLayer, int layers) {
+        final long start = GenerationMetrics.start();
+        int index = offset;
+        for (int k = firstLayer; k < firstLayer + layers; k++) {
+            final double z = originZ + k * step;
+            for (int j = 0; j < height; j++) {
+                final double y = originY + j * step;
+                for (int i = 0; i < width; i++) out[index++] = noise(seed, originX + i * step, y, z);
+            }
+        }
+        GenerationMetrics.recordRegion(this, start, (long) width * height * layers);
+    }
+
+    /**
+     * Streams a volume of noise slab by slab, holding at most <code>slabDepth</code> layers in memory.
+     * The concatenated slabs are equal to {@link #fillVolume(double[], int, double, double, double, double, int, int, int)} of the whole volume.
+     * @param originX The x coordinate of the first sample
+     * @param originY The y coordinate of the first sample
+     * @param originZ The z coordinate of the first sample
+     * @param step The distance between neighbouring samples
+     * @param width The number of samples per row
+     * @param height The number of rows per layer
+     * @param depth The number of layers
+     * @param slabDepth The maximum number of layers per slab, at least 1
+     * @param consumer Receives each slab, in order of increasing z
+     */
+    public void forEachSlab(double originX, double originY, double originZ, double step, int width, int height, int depth, int slabDepth, SlabConsumer consumer) {
+        if (slabDepth < 1) throw new IllegalArgumentException("Slab depth must be at least 1: " + slabDepth);
+        if (width < 0 || height < 0 || depth < 0)
+            throw new IllegalArgumentException("Volume size must not be negative: " + width + "x" + height + "x" + depth);
+        final double[] slab = new double[Math.multiplyExact(Math.multiplyExact(width, height), Math.min(slabDepth, depth))];
+        for (int layer = 0; layer < depth; layer += slabDepth) {
+            final int layers = Math.min(slabDepth, depth - layer);
+            fillLayers(slab, 0, originX, originY, originZ, step, width, height, layer, layers);
+            consumer.accept(slab, layer, layers);
+        }
+    }
+
+    @Override
+    public long getSeed() {
+        return seed;
+    }
+
+    private static double getBaseNoise(long seed, double xr, double yr, double zr) {
+        // First lattice, with vertices on integer coordinates.
+        long xrb = MathUtil.fastFloor(xr), yrb = MathUtil.fastFloor(yr), zrb = MathUtil.fastFloor(zr);
+        double value = getCubeNoise(seed, xrb * PRIME_X, yrb * PRIME_Y, zrb * PRIME_Z, xr - xrb, yr - yrb, zr - zrb);
+
+        // Second lattice, offset by half a cube on every axis.
+        xr -= 0.5;
+        yr -= 0.5;
+        zr -= 0.5;
+        xrb = MathUtil.fastFloor(xr);
+        yrb = MathUtil.fastFloor(yr);
+        zrb = MathUtil.fastFloor(zr);
+        return value + getCubeNoise(seed ^ SECOND_LATTICE_SEED_FLIP, xrb * PRIME_X, yrb * PRIME_Y, zrb * PRIME_Z, xr - xrb, yr - yrb, zr - zrb);
+    }
+
+    private static double getCubeNoise(long seed, long xrbp, long yrbp, long zrbp, double xi, double yi, double zi) {
+        double value = 0;
+        for (int corner = 0; corner < 8; corner++) {
+            final int cx = corner & 1, cy = (corner >> 1) & 1, cz = corner >> 2;
+            final double dx = xi - cx, dy = yi - cy, dz = zi - cz;
+            final double falloff = RSQUARED - dx * dx - dy * dy - dz * dz;
+            if (falloff <= 0) continue;
+            final double square = falloff * falloff;
+            value += square * square * gradient(seed, xrbp + (cx * PRIME_X), yrbp + (cy * PRIME_Y), zrbp + (cz * PRIME_Z), dx, dy, dz);
+        }
+        return value;
+    }
+
+    private static double gradient(long seed, long hx, long hy, long hz, double dx, double dy, double dz) {
+        long hash = seed ^ hx ^ hy ^ hz;
+        hash *= HASH_MULTIPLIER;
+        hash ^= hash >> (64 - N_GRADS_EXPONENT - 2);
+        final int gradient = (int) hash & ((N_GRADS - 1) << 2);
+        return GRADIENTS[gradient] * dx + GRADIENTS[gradient | 1] * dy + GRADIENTS[gradient | 2] * dz;
+    }
+
+    // The 12 cube edge directions, padded to 16 by repeating a regular tetrahedron, with every fourth entry unused.
+    private static final double[] GRADIENTS = new double[] {
+            1, 1, 0, 0, -1, 1, 0, 0, 1, -1, 0, 0, -1, -1, 0, 0,
+            1, 0, 1, 0, -1, 0, 1, 0, 1, 0, -1, 0, -1, 0, -1, 0,
+            0, 1, 1, 0, 0, -1, 1, 0, 0, 1, -1, 0, 0, -1, -1, 0,
+            1, 1, 0, 0, 0, -1, 1, 0, -1, 1, 0, 0, 0, -1, -1, 0
+    };
+}
@@ -0,0 +1,136 @@
+package me.craftinators.generation;
+
+import me.craftinators.math.MathUtil;
+
+import static me.craftinators.generation.SuperSimplexNoiseGenerator.HASH_MULTIPLIER;
+import static me.craftinators.generation.SuperSimplexNoiseGenerator.PRIME_X;
+import static me.craftinators.generation.SuperSimplexNoiseGenerator.PRIME_Y;
+import static me.craftinators.generation.SuperSimplexNoiseGenerator.checkRegion;
+import static me.craftinators.generation.SuperSimplexNoiseGenerator3D.PRIME_Z;
+
+/**
+ * 4D simplex-lattice noise generator, for 2D fields that tile seamlessly or animate over time.
+ * Sums contributions from all 16 corners of the skewed hypercube containing each point.
+ */
+public final class SuperSimplexNoiseGenerator4D implements Seedable {
+    static final long PRIME_W = 0x56CC5227E58F554BL;
+    static final double SKEW = 0.30901699437494745d, UNSKEW = -0.1381966011250105d;
+    private static final int N_GRADS_EXPONENT = 5;
+    private static final int N_GRADS = 1 << N_GRADS_EXPONENT;
+    // Smallest distance from a point to a vertex outside the corners of its hypercube, found by numerical minimization.
+    private static final double RSQUARED = 0.5d;
+    // Measured peak of the unscaled noise, brings the output to [-1, 1].
+    private static final double NORMALIZER = 1 / 0.01594d;
+
+    private final long seed;
+
+    public SuperSimplexNoiseGenerator4D(long seed) {
+        this.seed = seed;
+    }
+
+    public double noise(double x, double y, double z, double w) {
+        return noise(seed, x, y, z, w);
+    }
+
+    static double noise(long seed, double x, double y, double z, double w) {
+        final double skew = (x + y + z + w) * SKEW;
+        return getBaseNoise(seed, x + skew, y + skew, z + skew, w + skew) * NORMALIZER;
+    }
+
+    /**
+     * Fills a 2D slice of noise into <code>out</code>, such as one frame of noise animated along <code>w</code>.
+     * Sample <code>(i, j)</code> is equal to <code>noise(originX + i * stepX, originY + j * stepY, z, w)</code>
+     * and is written to <code>out[offset + j * stride + i]</code>.
+     * @param out The array to write to
+     * @param offset The index of the first sample
+     * @param stride The distance between the starts of neighbouring rows, at least <code>width</code>
+     * @param originX The x coordinate of the first sample
+     * @param originY The y coordinate of the first sample
+     * @param z The z coordinate of every sample
+     * @param w The w coordinate of every sample
+     * @param stepX The distance between neighbouring samples in a row
+     * @param stepY The distance between neighbouring rows
+     * @param width The number of samples per row
+     * @param height The number of rows
+     */
+    public void fillGrid(double[] out, int offset, int stride, double originX, double originY, double z, double w, double stepX, double stepY, int width, int height) {
+        checkRegion(out.length, offset, stride, width, height);
+        final long start = GenerationMetrics.start();
+        for (int j = 0; j < height; j++) {
+            final double y = originY + j * stepY;
+            int index = offset + j * stride;
+            for (int i = 0; i < width; i++) out[index++] = noise(seed, originX + i * stepX, y, z, w);
+        }
+        GenerationMetrics.recordRegion(this, start, (long) width * height);
+    }
+
+    /**
+     * Fills a region of noise into <code>out</code> that wraps around seamlessly in both directions.
+     * Each axis of the region is mapped onto a circle in its own plane of the 4D space,
+     * so the last column continues into the first, and the last row into the first.
+     * @param out The array to write to
+     * @param offset The index of the first sample
+     * @param stride The distance between the starts of neighbouring rows, at least <code>width</code>
+     * @param step The distance between neighbouring samples, measured along the circles
+     * @param width The number of samples per row, the period in x
+     * @param height The number of rows, the period in y
+     */
+    public void fillSeamless(double[] out, int offset, int stride, double step, int width, int height) {
+        checkRegion(out.length, offset, stride, width, height);
+        final long start = GenerationMetrics.start();
+        final double radiusX = width * step / (2 * Math.PI), radiusY = height * step / (2 * Math.PI);
+        for (int j = 0; j < height; j++) {
+            final double angleY = 2 * Math.PI * j / height;
+            final double z = Math.cos(angleY) * radiusY, w = Math.sin(angleY) * radiusY;
+            int index = offset + j * stride;
+            for (int i = 0; i < width; i++) {
+                final double angleX = 2 * Math.PI * i / width;
+                out[index++] = noise(seed, Math.cos(angleX) * radiusX, Math.sin(angleX) * radiusX, z, w);
+            }
+        }
+        GenerationMetrics.recordRegion(this, start, (long) width * height);
+    }
+
+    @Override
+    public long getSeed() {
+        return seed;
+    }
+
+    private static double getBaseNoise(long seed, double xs, double ys, double zs, double ws) {
+        // Get base points and offsets.
+        final long xsb = MathUtil.fastFloor(xs), ysb = MathUtil.fastFloor(ys), zsb = MathUtil.fastFloor(zs), wsb = MathUtil.fastFloor(ws);
+        final double xi = xs - xsb, yi = ys - ysb, zi = zs - zsb, wi = ws - wsb;
+
+        // Prime pre-multiplication for hash.
+        final long xsbp = xsb * PRIME_X, ysbp = ysb * PRIME_Y, zsbp = zsb * PRIME_Z, wsbp = wsb * PRIME_W;
+
+        final double offset = (xi + yi + zi + wi) * UNSKEW;
+        double value = 0;
+        for (int corner = 0; corner < 16; corner++) {
+            final int cx = corner & 1, cy = (corner >> 1) & 1, cz = (corner >> 2) & 1, cw = corner >> 3;
+            final double cornerOffset = offset - (cx + cy + cz + cw) * UNSKEW;
+            final double dx = xi - cx + cornerOffset, dy = yi - cy + cornerOffset, dz = zi - cz + cornerOffset, dw = wi - cw + cornerOffset;
+            final double falloff = RSQUARED - dx * dx - dy * dy - dz * dz - dw * dw;
+            if (falloff <= 0) continue;
+            final double square = falloff * falloff;
+            value += square * square * gradient(seed, xsbp + (cx * PRIME_X), ysbp + (cy * PRIME_Y), zsbp + (cz * PRIME_Z), wsbp + (cw * PRIME_W), dx, dy, dz, dw);
+        }
+        return value;
+    }
+
+    private static double gradient(long seed, long hx, long hy, long hz, long hw, double dx, double dy, double dz, double dw) {
+        long hash = seed ^ hx ^ hy ^ hz ^ hw;
+        hash *= HASH_MULTIPLIER;
+        hash ^= hash >> (64 - N_GRADS_EXPONENT - 2);
+        final int gradient = (int) hash & ((N_GRADS - 1) << 2);
+        return GRADIENTS[gradient] * dx + GRADIENTS[gradient | 1] * dy + GRADIENTS[gradient | 2] * dz + GRADIENTS[gradient | 3] * dw;
+    }
+
+    // The 32 directions with one zero and three unit components.
+    private static final double[] GRADIENTS = new double[] {
+            0, 1, 1, 1, 0, 1, 1, -1, 0, 1, -1, 1, 0, 1, -1, -1, 0, -1, 1, 1, 0, -1, 1, -1, 0, -1, -1, 1, 0, -1, -1, -1,
+            1, 0, 1, 1, 1, 0, 1, -1, 1, 0, -1, 1, 1, 0, -1, -1, -1, 0, 1, 1, -1, 0, 1, -1, -1, 0, -1, 1, -1, 0, -1, -1,
+            1, 1, 0, 1, 1, 1, 0, -1, 1, -1, 0, 1, 1, -1, 0, -1, -1, 1, 0, 1, -1, 1, 0, -1, -1, -1, 0, 1, -1, -1, 0, -1,
+            1, 1, 1, 0, 1, 1, -1, 0, 1, -1, 1, 0, 1, -1, -1, 0, -1, 1, 1, 0, -1, 1, -1, 0, -1, -1, 1, 0, -1, -1, -1, 0
+    };
+}
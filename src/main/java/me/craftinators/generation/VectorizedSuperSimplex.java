@@ -0,0 +1,146 @@
+package me.craftinators.generation;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+import static me.craftinators.generation.SuperSimplexNoiseGenerator.*;
+
+/**
+ * SIMD version of {@link SuperSimplexNoiseGenerator#fillGrid}, evaluating one sample per vector lane.
+ * Only loaded by {@link NoiseBackend#VECTOR} once the <code>jdk.incubator.vector</code> module is known to be present.
+ * <p>
+ * Fourth powers are computed as <code>(a * a) * (a * a)</code> instead of <code>Math.pow(a, 4)</code>,
+ * so samples may differ from the scalar path by at most {@link NoiseBackend#VECTOR_TOLERANCE}.
+ */
+final class VectorizedSuperSimplex {
+    private VectorizedSuperSimplex() {}
+
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS = VectorSpecies.of(int.class, VectorShape.forBitSize(DOUBLES.vectorBitSize() / 2));
+    private static final int LANES = DOUBLES.length();
+    private static final double[] IOTA = new double[LANES];
+    // Gradient gather indices, reused so a region fill does not allocate.
+    private static final ThreadLocal<int[]> INDICES = ThreadLocal.withInitial(() -> new int[LANES]);
+
+    static {
+        for (int lane = 0; lane < LANES; lane++) IOTA[lane] = lane;
+    }
+
+    static void fillGrid(long seed, double[] out, int offset, int stride, double originX, double originY, double stepX, double stepY, int width, int height) {
+        checkRegion(out.length, offset, stride, width, height);
+        final int[] indices = INDICES.get();
+        final DoubleVector iota = DoubleVector.fromArray(DOUBLES, IOTA, 0);
+        final int vectorWidth = width - width % LANES;
+        for (int j = 0; j < height; j++) {
+            final double y = originY + j * stepY;
+            final int row = offset + j * stride;
+            for (int i = 0; i < vectorWidth; i += LANES) {
+                final DoubleVector x = iota.add(i).mul(stepX).add(originX);
+                noise(seed, x, DoubleVector.broadcast(DOUBLES, y), indices).intoArray(out, row + i);
+            }
+            for (int i = vectorWidth; i < width; i++) out[row + i] = SuperSimplexNoiseGenerator.noise(seed, originX + i * stepX, y);
+        }
+    }
+
+    private static DoubleVector noise(long seed, DoubleVector x, DoubleVector y, int[] indices) {
+        final DoubleVector skew = x.add(y).mul(SKEW);
+        final DoubleVector xs = x.add(skew), ys = y.add(skew);
+
+        // Get base points and offsets.
+        final LongVector xsb = floor(xs), ysb = floor(ys);
+        final DoubleVector xi = xs.sub(toDouble(xsb)), yi = ys.sub(toDouble(ysb));
+
+        // Prime pre-multiplication for hash.
+        final LongVector xsbp = xsb.mul(PRIME_X), ysbp = ysb.mul(PRIME_Y);
+
+        final DoubleVector offset = xi.add(yi).mul(UNSKEW);
+        final DoubleVector dx0 = xi.add(offset), dy0 = yi.add(offset);
+
+        // First vertex.
+        final DoubleVector firstVertex = falloff(dx0, dy0);
+        DoubleVector value = pow4(firstVertex).mul(gradient(seed, xsbp, ysbp, dx0, dy0, indices));
+
+        // Second vertex.
+        final DoubleVector secondVertex = offset.mul(2 * (1 + 2 * UNSKEW) * (1 / UNSKEW + 2)).add(firstVertex.add(-2 * (1 + 2 * UNSKEW) * (1 + 2 * UNSKEW)));
+        final DoubleVector dx1 = dx0.sub(1 + 2 * UNSKEW), dy1 = dy0.sub(1 + 2 * UNSKEW);
+        value = value.add(pow4(secondVertex).mul(gradient(seed, xsbp.add(PRIME_X), ysbp.add(PRIME_Y), dx1, dy1, indices)));
+
+        // Third and fourth vertices. Each lane picks the vertex the scalar branches would,
+        // expressed as an offset subtracted from the first vertex.
+        final DoubleVector xmyi = xi.sub(yi);
+        final VectorMask<Double> lower = offset.compare(VectorOperators.LT, UNSKEW);
+        final DoubleVector xPlusXmyi = xi.add(xmyi);
+
+        final VectorMask<Double> third = lower.and(xPlusXmyi.compare(VectorOperators.GT, 1))
+                .or(lower.not().and(xPlusXmyi.compare(VectorOperators.LT, 0)));
+        final DoubleVector dx2 = dx0.sub(select(lower, third, 3 * UNSKEW + 2, UNSKEW, -(1 + UNSKEW), UNSKEW + 1));
+        final DoubleVector dy2 = dy0.sub(select(lower, third, 3 * UNSKEW + 1, UNSKEW + 1, -UNSKEW, UNSKEW));
+        final LongVector hx2 = xsbp.add(select(lower, third, PRIME_X << 1, 0, -PRIME_X, PRIME_X));
+        final LongVector hy2 = ysbp.add(select(lower, third, PRIME_Y, PRIME_Y, 0, 0));
+        value = addVertex(value, seed, hx2, hy2, dx2, dy2, indices);
+
+        final VectorMask<Double> fourth = lower.and(yi.sub(xmyi).compare(VectorOperators.GT, 1))
+                .or(lower.not().and(yi.compare(VectorOperators.LT, xmyi)));
+        final DoubleVector dx3 = dx0.sub(select(lower, fourth, 3 * UNSKEW + 1, UNSKEW + 1, -UNSKEW, UNSKEW));
+        final DoubleVector dy3 = dy0.sub(select(lower, fourth, 3 * UNSKEW + 2, UNSKEW, -(UNSKEW + 1), UNSKEW + 1));
+        final LongVector hx3 = xsbp.add(select(lower, fourth, PRIME_X, PRIME_X, 0, 0));
+        final LongVector hy3 = ysbp.add(select(lower, fourth, PRIME_Y << 1, 0, -PRIME_Y, PRIME_Y));
+        return addVertex(value, seed, hx3, hy3, dx3, dy3, indices);
+    }
+
+    private static DoubleVector addVertex(DoubleVector value, long seed, LongVector hx, LongVector hy, DoubleVector dx, DoubleVector dy, int[] indices) {
+        final DoubleVector vertex = falloff(dx, dy);
+        final VectorMask<Double> inside = vertex.compare(VectorOperators.GT, 0);
+        if (!inside.anyTrue()) return value;
+        return value.add(pow4(vertex).mul(gradient(seed, hx, hy, dx, dy, indices)), inside);
+    }
+
+    private static DoubleVector gradient(long seed, LongVector hx, LongVector hy, DoubleVector dx, DoubleVector dy, int[] indices) {
+        LongVector hash = hx.lanewise(VectorOperators.XOR, hy).lanewise(VectorOperators.XOR, seed);
+        hash = hash.mul(HASH_MULTIPLIER);
+        hash = hash.lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.ASHR, 64 - N_GRADS_EXPONENT + 1));
+        final IntVector gradient = (IntVector) hash.and((N_GRADS - 1) << 1).convertShape(VectorOperators.L2I, INTS, 0);
+        gradient.intoArray(indices, 0);
+        final DoubleVector gradientX = DoubleVector.fromArray(DOUBLES, GRADIENTS, 0, indices, 0);
+        final DoubleVector gradientY = DoubleVector.fromArray(DOUBLES, GRADIENTS, 1, indices, 0);
+        return gradientX.mul(dx).add(gradientY.mul(dy));
+    }
+
+    private static DoubleVector falloff(DoubleVector dx, DoubleVector dy) {
+        return DoubleVector.broadcast(DOUBLES, RSQUARED).sub(dx.mul(dx)).sub(dy.mul(dy));
+    }
+
+    private static DoubleVector pow4(DoubleVector value) {
+        final DoubleVector square = value.mul(value);
+        return square.mul(square);
+    }
+
+    private static LongVector floor(DoubleVector value) {
+        final LongVector truncated = (LongVector) value.convertShape(VectorOperators.D2L, LONGS, 0);
+        final VectorMask<Long> below = value.compare(VectorOperators.LT, toDouble(truncated)).cast(LONGS);
+        return truncated.sub(1, below);
+    }
+
+    private static DoubleVector toDouble(LongVector value) {
+        return (DoubleVector) value.convertShape(VectorOperators.L2D, DOUBLES, 0);
+    }
+
+    private static DoubleVector select(VectorMask<Double> lower, VectorMask<Double> condition, double lowerTrue, double lowerFalse, double upperTrue, double upperFalse) {
+        return DoubleVector.broadcast(DOUBLES, upperFalse)
+                .blend(upperTrue, condition)
+                .blend(DoubleVector.broadcast(DOUBLES, lowerFalse).blend(lowerTrue, condition), lower);
+    }
+
+    private static LongVector select(VectorMask<Double> lower, VectorMask<Double> condition, long lowerTrue, long lowerFalse, long upperTrue, long upperFalse) {
+        final VectorMask<Long> lowerLanes = lower.cast(LONGS), conditionLanes = condition.cast(LONGS);
+        return LongVector.broadcast(LONGS, upperFalse)
+                .blend(upperTrue, conditionLanes)
+                .blend(LongVector.broadcast(LONGS, lowerFalse).blend(lowerTrue, conditionLanes), lowerLanes);
+    }
+}
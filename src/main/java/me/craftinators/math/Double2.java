@@ -1,5 +1,8 @@
 package me.craftinators.math;
 
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
 /**
  * Represents an immutable 2D vector with double precision.
  */
@@ -61,37 +64,85 @@ public final class Double2 {
     }
 
     /**
-     * Generates a random Double2 with the given minimum and maximum values.
+     * Constructs a new Double2 from polar coordinates, reusing the cosine and sine of a {@link Rotation}.
+     * @param radius The distance from the origin
+     * @param direction The rotation from the unit x vector
+     * @return The new Double2
+     */
+    public static Double2 fromPolar(double radius, Rotation direction) {
+        return of(direction.getCos() * radius, direction.getSin() * radius);
+    }
+
+    /**
+     * Generates a random Double2 with the given minimum and maximum values, using the current thread's generator.
      * @param min The minimum value
      * @param max The maximum value
      * @return The random Double2
      */
     public static Double2 random(double min, double max) {
-        // TODO Incorporate seed
-        return of(Math.random() * (max - min) + min, Math.random() * (max - min) + min);
+        return random(ThreadLocalRandom.current(), min, max);
     }
 
     /**
-     * Generates a random Double2 inside a circle with the given radius.
+     * Generates a random Double2 with the given minimum and maximum values.
+     * @param random The generator to draw from
+     * @param min The minimum value
+     * @param max The maximum value
+     * @return The random Double2
+     */
+    public static Double2 random(RandomGenerator random, double min, double max) {
+        return of(random.nextDouble() * (max - min) + min, random.nextDouble() * (max - min) + min);
+    }
+
+    /**
+     * Generates a random Double2 uniformly distributed inside a circle with the given radius, using the current thread's generator.
      * @param radius The radius of the circle
      * @return The random Double2
      */
     public static Double2 randomInCircle(double radius) {
-        // TODO Incorporate seed
-        double angle = Math.random() * Math.PI * 2; // TODO Cache this
-        double distance = Math.random() * radius;
-        return fromPolar(distance, angle);
+        return randomInCircle(ThreadLocalRandom.current(), radius);
     }
 
     /**
-     * Generates a random Double2 on a circle with the given radius.
+     * Generates a random Double2 uniformly distributed inside a circle with the given radius.
+     * Uses rejection sampling, which avoids trigonometry and needs 1.27 attempts on average.
+     * @param random The generator to draw from
+     * @param radius The radius of the circle
+     * @return The random Double2
+     */
+    public static Double2 randomInCircle(RandomGenerator random, double radius) {
+        for (;;) {
+            final double x = random.nextDouble() * 2 - 1, y = random.nextDouble() * 2 - 1;
+            if (x * x + y * y < 1) return of(x * radius, y * radius);
+        }
+    }
+
+    /**
+     * Generates a random Double2 on a circle with the given radius, using the current thread's generator.
      * @param radius The radius of the circle
      * @return The random Double2
      */
     public static Double2 randomOnCircle(double radius) {
-        // TODO Incorporate seed
-        double angle = Math.random() * Math.PI * 2; // TODO Cache this
-        return fromPolar(radius, angle);
+        return randomOnCircle(ThreadLocalRandom.current(), radius);
+    }
+
+    /**
+     * Generates a random Double2 uniformly distributed on a circle with the given radius.
+     * Projects a rejection sampled point inside the circle onto it, which avoids trigonometry.
+     * @param random The generator to draw from
+     * @param radius The radius of the circle
+     * @return The random Double2
+     */
+    public static Double2 randomOnCircle(RandomGenerator random, double radius) {
+        for (;;) {
+            final double x = random.nextDouble() * 2 - 1, y = random.nextDouble() * 2 - 1;
+            final double squareMagnitude = x * x + y * y;
+            // Very short vectors lose precision when scaled up.
+            if (squareMagnitude < 1 && squareMagnitude > 1e-12) {
+                final double scale = radius / Math.sqrt(squareMagnitude);
+                return of(x * scale, y * scale);
+            }
+        }
     }
 
     public double getX() {
@@ -108,6 +159,17 @@ public final class Double2 {
         return getX() == other.getX() && getY() == other.getY();
     }
 
+    @Override
+    public int hashCode() {
+        // Adding 0 turns -0 into 0, which equals considers the same.
+        return 31 * Double.hashCode(getX() + 0d) + Double.hashCode(getY() + 0d);
+    }
+
+    @Override
+    public String toString() {
+        return "(" + getX() + ", " + getY() + ")";
+    }
+
     public Double2 add(Double2 other) {
         return of(getX() + other.getX(), getY() + other.getY());
     }
@@ -177,13 +239,23 @@ public final class Double2 {
     }
 
     public Double2 rotate(double angle) {
-        return of(getX() * Math.cos(angle) - getY() * Math.sin(angle), getX() * Math.sin(angle) + getY() * Math.cos(angle));
+        final double cos = Math.cos(angle), sin = Math.sin(angle);
+        return of(getX() * cos - getY() * sin, getX() * sin + getY() * cos);
+    }
+
+    public Double2 rotate(Rotation rotation) {
+        final double cos = rotation.getCos(), sin = rotation.getSin();
+        return of(getX() * cos - getY() * sin, getX() * sin + getY() * cos);
     }
 
     public Double2 rotateAround(Double2 other, double angle) {
         return subtract(other).rotate(angle).add(other);
     }
 
+    public Double2 rotateAround(Double2 other, Rotation rotation) {
+        return subtract(other).rotate(rotation).add(other);
+    }
+
     public Double2 lerp(Double2 other, double t) {
         return of(getX() + (other.getX() - getX()) * t, getY() + (other.getY() - getY()) * t);
     }
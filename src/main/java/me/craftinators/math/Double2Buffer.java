@@ -0,0 +1,377 @@
+package me.craftinators.math;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.random.RandomGenerator;
+
+/**
+ * Growable list of 2D vectors with double precision, stored as two parallel arrays of x and y components.
+ * Bulk operations apply to every vector in the buffer, give the same results as the matching {@link Double2} methods
+ * applied one vector at a time, and are written as simple loops the JIT can vectorize.
+ */
+public final class Double2Buffer {
+    private double[] xs, ys;
+    private int size;
+
+    /**
+     * Constructs a new, empty Double2Buffer.
+     * @param capacity The number of vectors to make room for
+     */
+    public Double2Buffer(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("Capacity must not be negative: " + capacity);
+        this.xs = new double[capacity];
+        this.ys = new double[capacity];
+    }
+
+    /**
+     * Constructs a new Double2Buffer holding the given vectors, in iteration order.
+     * @param vectors The vectors
+     * @return The new Double2Buffer
+     */
+    public static Double2Buffer of(Collection<Double2> vectors) {
+        final Double2Buffer buffer = new Double2Buffer(vectors.size());
+        for (Double2 vector : vectors) buffer.append(vector);
+        return buffer;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return xs.length;
+    }
+
+    /**
+     * Gets the backing array of x components. Only the first {@link #size()} entries are in use.
+     * @return The x components
+     */
+    public double[] getXs() {
+        return xs;
+    }
+
+    /**
+     * Gets the backing array of y components. Only the first {@link #size()} entries are in use.
+     * @return The y components
+     */
+    public double[] getYs() {
+        return ys;
+    }
+
+    public double getX(int index) {
+        return xs[checkIndex(index)];
+    }
+
+    public double getY(int index) {
+        return ys[checkIndex(index)];
+    }
+
+    public Double2 get(int index) {
+        checkIndex(index);
+        return Double2.of(xs[index], ys[index]);
+    }
+
+    public MutableDouble2 get(int index, MutableDouble2 out) {
+        checkIndex(index);
+        return out.set(xs[index], ys[index]);
+    }
+
+    public void set(int index, double x, double y) {
+        checkIndex(index);
+        xs[index] = x;
+        ys[index] = y;
+    }
+
+    public void set(int index, Double2 vector) {
+        set(index, vector.getX(), vector.getY());
+    }
+
+    /**
+     * Adds a vector to the end of the buffer, growing it if needed.
+     * @param x The x component
+     * @param y The y component
+     * @return The index of the new vector
+     */
+    public int append(double x, double y) {
+        if (size == xs.length) {
+            final int capacity = Math.max(8, xs.length + (xs.length >> 1));
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+        }
+        xs[size] = x;
+        ys[size] = y;
+        return size++;
+    }
+
+    public int append(Double2 vector) {
+        return append(vector.getX(), vector.getY());
+    }
+
+    /**
+     * Appends <code>count</code> random vectors, see {@link Double2#random(RandomGenerator, double, double)}.
+     * @return This buffer
+     */
+    public Double2Buffer appendRandom(RandomGenerator random, int count, double min, double max) {
+        reserve(count);
+        for (int i = 0; i < count; i++) append(random.nextDouble() * (max - min) + min, random.nextDouble() * (max - min) + min);
+        return this;
+    }
+
+    /**
+     * Appends <code>count</code> random vectors inside a circle, see {@link Double2#randomInCircle(RandomGenerator, double)}.
+     * @return This buffer
+     */
+    public Double2Buffer appendRandomInCircle(RandomGenerator random, int count, double radius) {
+        reserve(count);
+        for (int i = 0; i < count; ) {
+            final double x = random.nextDouble() * 2 - 1, y = random.nextDouble() * 2 - 1;
+            if (x * x + y * y >= 1) continue;
+            append(x * radius, y * radius);
+            i++;
+        }
+        return this;
+    }
+
+    /**
+     * Appends <code>count</code> random vectors on a circle, see {@link Double2#randomOnCircle(RandomGenerator, double)}.
+     * @return This buffer
+     */
+    public Double2Buffer appendRandomOnCircle(RandomGenerator random, int count, double radius) {
+        reserve(count);
+        for (int i = 0; i < count; ) {
+            final double x = random.nextDouble() * 2 - 1, y = random.nextDouble() * 2 - 1;
+            final double squareMagnitude = x * x + y * y;
+            if (squareMagnitude >= 1 || squareMagnitude <= 1e-12) continue;
+            final double scale = radius / Math.sqrt(squareMagnitude);
+            append(x * scale, y * scale);
+            i++;
+        }
+        return this;
+    }
+
+    /**
+     * Makes room for <code>count</code> more vectors without growing again.
+     * @param count The number of vectors about to be appended
+     */
+    public void reserve(int count) {
+        if (size + count <= xs.length) return;
+        xs = Arrays.copyOf(xs, size + count);
+        ys = Arrays.copyOf(ys, size + count);
+    }
+
+    /**
+     * Removes a vector by moving the last vector into its place.
+     * @param index The index of the vector to remove
+     */
+    public void swapRemove(int index) {
+        checkIndex(index);
+        size--;
+        xs[index] = xs[size];
+        ys[index] = ys[size];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public Double2Buffer add(Double2Buffer other) {
+        checkSize(other);
+        for (int i = 0; i < size; i++) {
+            xs[i] += other.xs[i];
+            ys[i] += other.ys[i];
+        }
+        return this;
+    }
+
+    public Double2Buffer add(double scalarX, double scalarY) {
+        for (int i = 0; i < size; i++) {
+            xs[i] += scalarX;
+            ys[i] += scalarY;
+        }
+        return this;
+    }
+
+    public Double2Buffer subtract(Double2Buffer other) {
+        checkSize(other);
+        for (int i = 0; i < size; i++) {
+            xs[i] -= other.xs[i];
+            ys[i] -= other.ys[i];
+        }
+        return this;
+    }
+
+    public Double2Buffer multiply(double scalar) {
+        for (int i = 0; i < size; i++) {
+            xs[i] *= scalar;
+            ys[i] *= scalar;
+        }
+        return this;
+    }
+
+    /**
+     * Adds <code>other</code> scaled by <code>scalar</code> to every vector, such as when integrating velocities.
+     * @param other The vectors to add
+     * @param scalar The scale of the added vectors
+     * @return This buffer
+     */
+    public Double2Buffer addScaled(Double2Buffer other, double scalar) {
+        checkSize(other);
+        for (int i = 0; i < size; i++) {
+            xs[i] += other.xs[i] * scalar;
+            ys[i] += other.ys[i] * scalar;
+        }
+        return this;
+    }
+
+    public Double2Buffer hadamard(Double2Buffer other) {
+        checkSize(other);
+        for (int i = 0; i < size; i++) {
+            xs[i] *= other.xs[i];
+            ys[i] *= other.ys[i];
+        }
+        return this;
+    }
+
+    public Double2Buffer normalize() {
+        for (int i = 0; i < size; i++) {
+            final double magnitude = Math.sqrt(xs[i] * xs[i] + ys[i] * ys[i]);
+            xs[i] /= magnitude;
+            ys[i] /= magnitude;
+        }
+        return this;
+    }
+
+    public Double2Buffer rotate(double angle) {
+        return rotate(Rotation.of(angle));
+    }
+
+    public Double2Buffer rotate(Rotation rotation) {
+        final double cos = rotation.getCos(), sin = rotation.getSin();
+        for (int i = 0; i < size; i++) {
+            final double x = xs[i], y = ys[i];
+            xs[i] = x * cos - y * sin;
+            ys[i] = x * sin + y * cos;
+        }
+        return this;
+    }
+
+    public Double2Buffer rotateAround(Double2 other, double angle) {
+        return rotateAround(other, Rotation.of(angle));
+    }
+
+    public Double2Buffer rotateAround(Double2 other, Rotation rotation) {
+        final double cos = rotation.getCos(), sin = rotation.getSin();
+        final double ox = other.getX(), oy = other.getY();
+        for (int i = 0; i < size; i++) {
+            final double x = xs[i] - ox, y = ys[i] - oy;
+            xs[i] = (x * cos - y * sin) + ox;
+            ys[i] = (x * sin + y * cos) + oy;
+        }
+        return this;
+    }
+
+    public Double2Buffer lerp(Double2Buffer other, double t) {
+        checkSize(other);
+        for (int i = 0; i < size; i++) {
+            xs[i] = xs[i] + (other.xs[i] - xs[i]) * t;
+            ys[i] = ys[i] + (other.ys[i] - ys[i]) * t;
+        }
+        return this;
+    }
+
+    /**
+     * Writes the angle of each vector into <code>out</code>, as {@link Double2#getAngle()} would.
+     * @param out The array to write to, at least {@link #size()} long
+     * @return <code>out</code>
+     */
+    public double[] angle(double[] out) {
+        checkOutput(out);
+        for (int i = 0; i < size; i++) out[i] = Math.atan2(ys[i], xs[i]);
+        return out;
+    }
+
+    /**
+     * Writes the approximate angle of each vector into <code>out</code>, using {@link MathUtil#fastAtan2(double, double)}.
+     * @param out The array to write to, at least {@link #size()} long
+     * @return <code>out</code>
+     */
+    public double[] fastAngle(double[] out) {
+        checkOutput(out);
+        for (int i = 0; i < size; i++) out[i] = MathUtil.fastAtan2(ys[i], xs[i]);
+        return out;
+    }
+
+    /**
+     * Writes the dot product of each vector with the matching vector of <code>other</code> into <code>out</code>.
+     * @param other The other vectors
+     * @param out The array to write to, at least {@link #size()} long
+     * @return <code>out</code>
+     */
+    public double[] dot(Double2Buffer other, double[] out) {
+        checkSize(other);
+        checkOutput(out);
+        for (int i = 0; i < size; i++) out[i] = xs[i] * other.xs[i] + ys[i] * other.ys[i];
+        return out;
+    }
+
+    /**
+     * Writes the distance of each vector to <code>point</code> into <code>out</code>.
+     * @param point The point to measure from
+     * @param out The array to write to, at least {@link #size()} long
+     * @return <code>out</code>
+     */
+    public double[] distance(Double2 point, double[] out) {
+        squareDistance(point, out);
+        for (int i = 0; i < size; i++) out[i] = Math.sqrt(out[i]);
+        return out;
+    }
+
+    /**
+     * Writes the squared distance of each vector to <code>point</code> into <code>out</code>.
+     * @param point The point to measure from
+     * @param out The array to write to, at least {@link #size()} long
+     * @return <code>out</code>
+     */
+    public double[] squareDistance(Double2 point, double[] out) {
+        checkOutput(out);
+        final double px = point.getX(), py = point.getY();
+        for (int i = 0; i < size; i++) {
+            final double dx = xs[i] - px, dy = ys[i] - py;
+            out[i] = dx * dx + dy * dy;
+        }
+        return out;
+    }
+
+    /**
+     * Finds the vector closest to <code>point</code>.
+     * @param point The point to measure from
+     * @return The index of the closest vector, or -1 if the buffer is empty
+     */
+    public int nearest(Double2 point) {
+        final double px = point.getX(), py = point.getY();
+        int nearest = -1;
+        double nearestSquareDistance = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < size; i++) {
+            final double dx = xs[i] - px, dy = ys[i] - py;
+            final double squareDistance = dx * dx + dy * dy;
+            if (squareDistance < nearestSquareDistance) {
+                nearestSquareDistance = squareDistance;
+                nearest = i;
+            }
+        }
+        return nearest;
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        return index;
+    }
+
+    private void checkSize(Double2Buffer other) {
+        if (other.size != size) throw new IllegalArgumentException("Buffer sizes differ: " + size + " and " + other.size);
+    }
+
+    private void checkOutput(double[] out) {
+        if (out.length < size) throw new IllegalArgumentException("Output array of length " + out.length + " is smaller than size " + size);
+    }
+}
@@ -72,6 +72,16 @@ public final class Long2 {
         return getX() == other.getX() && getY() == other.getY();
     }
 
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(getX()) + Long.hashCode(getY());
+    }
+
+    @Override
+    public String toString() {
+        return "(" + getX() + ", " + getY() + ")";
+    }
+
     public Long2 add(Long2 other) {
         return of(getX() + other.getX(), getY() + other.getY());
     }
@@ -1,10 +1,72 @@
 package me.craftinators.math;
 
 public final class MathUtil {
+    private static final double TAU = 2 * Math.PI, INVERSE_TAU = 1 / TAU, HALF_PI = Math.PI / 2;
+
+    // Taylor series of sin, accurate to (pi / 2)^13 / 13! < 5.7e-8 on [-pi / 2, pi / 2].
+    private static final double SIN_3 = -1.0 / 6, SIN_5 = 1.0 / 120, SIN_7 = -1.0 / 5040, SIN_9 = 1.0 / 362880, SIN_11 = -1.0 / 39916800;
+
+    // Abramowitz and Stegun 4.4.49, accurate to 2e-8 on [0, 1].
+    private static final double ATAN_1 = 0.9999993329, ATAN_3 = -0.3332985605, ATAN_5 = 0.1994653599, ATAN_7 = -0.1390853351,
+            ATAN_9 = 0.0964200441, ATAN_11 = -0.0559098861, ATAN_13 = 0.0218612288, ATAN_15 = -0.0040540580;
+
     private MathUtil() {}
 
     public static long fastFloor(double number) {
         long floored = (long) number;
         return number < floored ? floored - 1 : floored;
     }
+
+    /**
+     * Scrambles the bits of a long, using the SplitMix64 finalizer. Every input maps to a distinct output.
+     * @param value The value to scramble
+     * @return The scrambled value
+     */
+    public static long mix64(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * Approximates {@link Math#sin(double)} with a polynomial, about twice as fast.
+     * The result is within 6e-8 of the exact sine, plus a range reduction error of about <code>|angle| * 1e-16</code>.
+     * @param angle The angle in radians
+     * @return The approximate sine
+     */
+    public static double fastSin(double angle) {
+        // Reduce to [-pi, pi], then fold onto [-pi / 2, pi / 2] without branching, as sin(x) = sin(pi - x).
+        double x = angle - TAU * Math.rint(angle * INVERSE_TAU);
+        x = Math.copySign(HALF_PI - Math.abs(Math.abs(x) - HALF_PI), x);
+        final double x2 = x * x;
+        return x * (1 + x2 * (SIN_3 + x2 * (SIN_5 + x2 * (SIN_7 + x2 * (SIN_9 + x2 * SIN_11)))));
+    }
+
+    /**
+     * Approximates {@link Math#cos(double)} with a polynomial, with the same error as {@link #fastSin(double)}.
+     * @param angle The angle in radians
+     * @return The approximate cosine
+     */
+    public static double fastCos(double angle) {
+        return fastSin(angle + HALF_PI);
+    }
+
+    /**
+     * Approximates {@link Math#atan2(double, double)} with a polynomial, about three times as fast.
+     * The result is within 4e-8 radians of the exact angle. Zero and infinite arguments fall back to {@link Math#atan2(double, double)}.
+     * @param y The y coordinate
+     * @param x The x coordinate
+     * @return The approximate angle of <code>(x, y)</code> in radians, from <code>-pi</code> to <code>pi</code>
+     */
+    public static double fastAtan2(double y, double x) {
+        final double absoluteX = Math.abs(x), absoluteY = Math.abs(y), max = Math.max(absoluteX, absoluteY);
+        if (max == 0 || max == Double.POSITIVE_INFINITY) return Math.atan2(y, x);
+
+        // Angle within the first octant, then mirrored out to the actual one.
+        final double t = Math.min(absoluteX, absoluteY) / max, t2 = t * t;
+        double angle = t * (ATAN_1 + t2 * (ATAN_3 + t2 * (ATAN_5 + t2 * (ATAN_7 + t2 * (ATAN_9 + t2 * (ATAN_11 + t2 * (ATAN_13 + t2 * ATAN_15)))))));
+        if (absoluteY > absoluteX) angle = HALF_PI - angle;
+        if (x < 0) angle = Math.PI - angle;
+        return Math.copySign(angle, y);
+    }
 }
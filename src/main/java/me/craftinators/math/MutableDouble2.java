@@ -0,0 +1,225 @@
+package me.craftinators.math;
+
+/**
+ * Represents a mutable 2D vector with double precision.
+ * Operations modify this vector in place and return it, so hot loops can avoid allocating a {@link Double2} per step.
+ */
+public final class MutableDouble2 {
+    private double x, y;
+
+    /**
+     * Constructs a new MutableDouble2 with the given x and y components.
+     * @param x The x component
+     * @param y The y component
+     */
+    public MutableDouble2(double x, double y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Constructs a new MutableDouble2 set to zero.
+     */
+    public MutableDouble2() {
+        this(0, 0);
+    }
+
+    /**
+     * Constructs a new MutableDouble2 with the components of the given vector.
+     * @param other The vector to copy
+     * @return The new MutableDouble2
+     */
+    public static MutableDouble2 of(Double2 other) {
+        return new MutableDouble2(other.getX(), other.getY());
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public MutableDouble2 set(double x, double y) {
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+
+    public MutableDouble2 set(Double2 other) {
+        return set(other.getX(), other.getY());
+    }
+
+    public MutableDouble2 set(MutableDouble2 other) {
+        return set(other.getX(), other.getY());
+    }
+
+    /**
+     * Copies this vector into a new immutable {@link Double2}.
+     * @return The new Double2
+     */
+    public Double2 toDouble2() {
+        return Double2.of(x, y);
+    }
+
+    public MutableDouble2 add(Double2 other) {
+        return set(x + other.getX(), y + other.getY());
+    }
+
+    public MutableDouble2 add(MutableDouble2 other) {
+        return set(x + other.getX(), y + other.getY());
+    }
+
+    public MutableDouble2 add(double scalar) {
+        return set(x + scalar, y + scalar);
+    }
+
+    public MutableDouble2 add(double scalarX, double scalarY) {
+        return set(x + scalarX, y + scalarY);
+    }
+
+    public MutableDouble2 subtract(Double2 other) {
+        return set(x - other.getX(), y - other.getY());
+    }
+
+    public MutableDouble2 subtract(MutableDouble2 other) {
+        return set(x - other.getX(), y - other.getY());
+    }
+
+    public MutableDouble2 subtract(Long2 other) {
+        return set(x - other.getX(), y - other.getY());
+    }
+
+    public MutableDouble2 subtract(double scalar) {
+        return set(x - scalar, y - scalar);
+    }
+
+    public MutableDouble2 subtract(double scalarX, double scalarY) {
+        return set(x - scalarX, y - scalarY);
+    }
+
+    public MutableDouble2 multiply(double scalar) {
+        return set(x * scalar, y * scalar);
+    }
+
+    public MutableDouble2 divide(double scalar) {
+        return set(x / scalar, y / scalar);
+    }
+
+    public double dot(Double2 other) {
+        return x * other.getX() + y * other.getY();
+    }
+
+    public double dot(MutableDouble2 other) {
+        return x * other.getX() + y * other.getY();
+    }
+
+    public double magnitude() {
+        return Math.sqrt(squareMagnitude());
+    }
+
+    public double squareMagnitude() {
+        return dot(this);
+    }
+
+    /**
+     * Scales this vector to a magnitude of 1, like {@link Double2#normalized()}.
+     * @return This vector
+     */
+    public MutableDouble2 normalize() {
+        return divide(magnitude());
+    }
+
+    public double distance(Double2 other) {
+        return Math.sqrt(squareDistance(other));
+    }
+
+    public double distance(MutableDouble2 other) {
+        return Math.sqrt(squareDistance(other));
+    }
+
+    public double squareDistance(Double2 other) {
+        final double dx = x - other.getX(), dy = y - other.getY();
+        return dx * dx + dy * dy;
+    }
+
+    public double squareDistance(MutableDouble2 other) {
+        final double dx = x - other.getX(), dy = y - other.getY();
+        return dx * dx + dy * dy;
+    }
+
+    public double getAngle() {
+        return Math.atan2(y, x);
+    }
+
+    public double angleBetween(Double2 other) {
+        return Math.atan2(y - other.getY(), x - other.getX());
+    }
+
+    public double angleBetween(MutableDouble2 other) {
+        return Math.atan2(y - other.getY(), x - other.getX());
+    }
+
+    public MutableDouble2 rotate(double angle) {
+        final double cos = Math.cos(angle), sin = Math.sin(angle);
+        return set(x * cos - y * sin, x * sin + y * cos);
+    }
+
+    public MutableDouble2 rotate(Rotation rotation) {
+        final double cos = rotation.getCos(), sin = rotation.getSin();
+        return set(x * cos - y * sin, x * sin + y * cos);
+    }
+
+    public MutableDouble2 rotateAround(Double2 other, double angle) {
+        return subtract(other).rotate(angle).add(other);
+    }
+
+    public MutableDouble2 rotateAround(MutableDouble2 other, double angle) {
+        // Copy the pivot first, other may be this vector.
+        final double ox = other.getX(), oy = other.getY();
+        return subtract(ox, oy).rotate(angle).add(ox, oy);
+    }
+
+    public MutableDouble2 rotateAround(Double2 other, Rotation rotation) {
+        return subtract(other).rotate(rotation).add(other);
+    }
+
+    public MutableDouble2 lerp(Double2 other, double t) {
+        return set(x + (other.getX() - x) * t, y + (other.getY() - y) * t);
+    }
+
+    public MutableDouble2 lerp(MutableDouble2 other, double t) {
+        return set(x + (other.getX() - x) * t, y + (other.getY() - y) * t);
+    }
+
+    public MutableDouble2 hadamard(Double2 other) {
+        return set(x * other.getX(), y * other.getY());
+    }
+
+    public MutableDouble2 hadamard(MutableDouble2 other) {
+        return set(x * other.getX(), y * other.getY());
+    }
+
+    /**
+     * Floors the components of this vector into <code>out</code>.
+     * @param out The vector to write to
+     * @return <code>out</code>
+     */
+    public MutableLong2 floor(MutableLong2 out) {
+        return out.set(MathUtil.fastFloor(x), MathUtil.fastFloor(y));
+    }
+
+    public double sum() {
+        return x + y;
+    }
+
+    public double difference() {
+        return x - y;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + x + ", " + y + ")";
+    }
+}
@@ -0,0 +1,175 @@
+package me.craftinators.math;
+
+/**
+ * Represents a mutable 2D vector with long precision.
+ * Operations modify this vector in place and return it, so hot loops can avoid allocating a {@link Long2} per step.
+ */
+public final class MutableLong2 {
+    private long x, y;
+
+    /**
+     * Constructs a new MutableLong2 with the given x and y components.
+     *
+     * @param x The x component
+     * @param y The y component
+     */
+    public MutableLong2(long x, long y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Constructs a new MutableLong2 set to zero.
+     */
+    public MutableLong2() {
+        this(0, 0);
+    }
+
+    /**
+     * Constructs a new MutableLong2 with the components of the given vector.
+     *
+     * @param other The vector to copy
+     * @return The new MutableLong2
+     */
+    public static MutableLong2 of(Long2 other) {
+        return new MutableLong2(other.getX(), other.getY());
+    }
+
+    public long getX() {
+        return x;
+    }
+
+    public long getY() {
+        return y;
+    }
+
+    public MutableLong2 set(long x, long y) {
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+
+    public MutableLong2 set(Long2 other) {
+        return set(other.getX(), other.getY());
+    }
+
+    public MutableLong2 set(MutableLong2 other) {
+        return set(other.getX(), other.getY());
+    }
+
+    /**
+     * Copies this vector into a new immutable {@link Long2}.
+     *
+     * @return The new Long2
+     */
+    public Long2 toLong2() {
+        return Long2.of(x, y);
+    }
+
+    public MutableLong2 add(Long2 other) {
+        return set(x + other.getX(), y + other.getY());
+    }
+
+    public MutableLong2 add(MutableLong2 other) {
+        return set(x + other.getX(), y + other.getY());
+    }
+
+    public MutableLong2 add(long scalar) {
+        return set(x + scalar, y + scalar);
+    }
+
+    public MutableLong2 add(long scalarX, long scalarY) {
+        return set(x + scalarX, y + scalarY);
+    }
+
+    public MutableLong2 subtract(Long2 other) {
+        return set(x - other.getX(), y - other.getY());
+    }
+
+    public MutableLong2 subtract(MutableLong2 other) {
+        return set(x - other.getX(), y - other.getY());
+    }
+
+    public MutableLong2 subtract(long scalar) {
+        return set(x - scalar, y - scalar);
+    }
+
+    public MutableLong2 subtract(long scalarX, long scalarY) {
+        return set(x - scalarX, y - scalarY);
+    }
+
+    public MutableLong2 multiply(long scalar) {
+        return set(x * scalar, y * scalar);
+    }
+
+    public MutableLong2 divide(long scalar) {
+        return set(x / scalar, y / scalar);
+    }
+
+    public long dot(Long2 other) {
+        return x * other.getX() + y * other.getY();
+    }
+
+    public long dot(MutableLong2 other) {
+        return x * other.getX() + y * other.getY();
+    }
+
+    public double magnitude() {
+        return Math.sqrt(squareMagnitude());
+    }
+
+    public long squareMagnitude() {
+        return dot(this);
+    }
+
+    public long squareDistance(Long2 other) {
+        final long dx = x - other.getX(), dy = y - other.getY();
+        return dx * dx + dy * dy;
+    }
+
+    public long squareDistance(MutableLong2 other) {
+        final long dx = x - other.getX(), dy = y - other.getY();
+        return dx * dx + dy * dy;
+    }
+
+    public double distance(Long2 other) {
+        return Math.sqrt(squareDistance(other));
+    }
+
+    public double distance(MutableLong2 other) {
+        return Math.sqrt(squareDistance(other));
+    }
+
+    public double getAngle() {
+        return Math.atan2(y, x);
+    }
+
+    public double angleBetween(Long2 other) {
+        return Math.atan2(y - other.getY(), x - other.getX());
+    }
+
+    public double angleBetween(MutableLong2 other) {
+        return Math.atan2(y - other.getY(), x - other.getX());
+    }
+
+    public double sum() {
+        return x + y;
+    }
+
+    public double difference() {
+        return x - y;
+    }
+
+    public MutableLong2 hadamard(Long2 other) {
+        return set(x * other.getX(), y * other.getY());
+    }
+
+    public MutableLong2 hadamard(MutableLong2 other) {
+        return set(x * other.getX(), y * other.getY());
+    }
+
+    @Override
+    public String toString() {
+        return "(" + x + ", " + y + ")";
+    }
+}
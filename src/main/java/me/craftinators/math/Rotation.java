@@ -0,0 +1,123 @@
+package me.craftinators.math;
+
+/**
+ * Represents an immutable 2D rotation, stored as the unit complex number <code>cos + i * sin</code> of its angle.
+ * Computing the cosine and sine once and reusing them makes rotating many vectors by the same angle
+ * a few multiplications each, see {@link Double2#rotate(Rotation)} and {@link Double2Buffer#rotate(Rotation)}.
+ */
+public final class Rotation {
+    private final double cos, sin;
+
+    private Rotation(double cos, double sin) {
+        this.cos = cos;
+        this.sin = sin;
+    }
+
+    /**
+     * Represents the rotation by zero.
+     */
+    public static final Rotation IDENTITY = new Rotation(1, 0);
+
+    /**
+     * Constructs a new Rotation by the given angle.
+     * @param angle The angle in radians, counterclockwise
+     * @return The new Rotation
+     */
+    public static Rotation of(double angle) {
+        return new Rotation(Math.cos(angle), Math.sin(angle));
+    }
+
+    /**
+     * Constructs a new Rotation by the given angle, using {@link MathUtil#fastCos(double)} and {@link MathUtil#fastSin(double)}.
+     * @param angle The angle in radians, counterclockwise
+     * @return The new Rotation
+     */
+    public static Rotation ofFast(double angle) {
+        return new Rotation(MathUtil.fastCos(angle), MathUtil.fastSin(angle));
+    }
+
+    /**
+     * Constructs a new Rotation turning the direction of <code>from</code> into the direction of <code>to</code>, without any trigonometry.
+     * @param from The vector to rotate from, not zero
+     * @param to The vector to rotate to, not zero
+     * @return The new Rotation
+     */
+    public static Rotation between(Double2 from, Double2 to) {
+        // to * conjugate(from), normalized.
+        final double cos = from.getX() * to.getX() + from.getY() * to.getY();
+        final double sin = from.getX() * to.getY() - from.getY() * to.getX();
+        final double magnitude = Math.sqrt(cos * cos + sin * sin);
+        if (!(magnitude > 0) || Double.isInfinite(magnitude))
+            throw new IllegalArgumentException("Cannot rotate between " + from + " and " + to);
+        return new Rotation(cos / magnitude, sin / magnitude);
+    }
+
+    public double getCos() {
+        return cos;
+    }
+
+    public double getSin() {
+        return sin;
+    }
+
+    /**
+     * Gets the angle of this rotation.
+     * @return The angle in radians, from <code>-pi</code> to <code>pi</code>
+     */
+    public double getAngle() {
+        return Math.atan2(sin, cos);
+    }
+
+    /**
+     * Combines this rotation with another, as if rotating by this one and then by <code>other</code>.
+     * Long chains slowly drift away from unit length, which {@link #normalized()} corrects.
+     * @param other The rotation applied second
+     * @return The combined rotation
+     */
+    public Rotation compose(Rotation other) {
+        return new Rotation(cos * other.cos - sin * other.sin, sin * other.cos + cos * other.sin);
+    }
+
+    /**
+     * Gets the rotation by the opposite angle.
+     * @return The inverse rotation
+     */
+    public Rotation inverse() {
+        return new Rotation(cos, -sin);
+    }
+
+    /**
+     * Scales this rotation back to unit length.
+     * @return The normalized rotation
+     */
+    public Rotation normalized() {
+        final double magnitude = Math.sqrt(cos * cos + sin * sin);
+        return new Rotation(cos / magnitude, sin / magnitude);
+    }
+
+    /**
+     * Rotates a vector around the origin.
+     * @param vector The vector
+     * @return The rotated vector
+     */
+    public Double2 apply(Double2 vector) {
+        return vector.rotate(this);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof Rotation other)) return false;
+        return cos == other.cos && sin == other.sin;
+    }
+
+    @Override
+    public int hashCode() {
+        // Adding 0 turns -0 into 0, which equals considers the same.
+        return 31 * Double.hashCode(cos + 0d) + Double.hashCode(sin + 0d);
+    }
+
+    @Override
+    public String toString() {
+        return "Rotation(" + getAngle() + ")";
+    }
+}
@@ -0,0 +1,402 @@
+package me.craftinators.math;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.IntConsumer;
+
+/**
+ * Spatial index of points identified by non-negative int ids, such as indices into an entity list.
+ * Points are bucketed into square cells of <code>cellSize</code>, the same cells as <code>position.divide(cellSize).floor()</code>,
+ * so queries only look at the cells they overlap.
+ * <p>
+ * Queries report ids to a visitor without allocating, and may run concurrently with each other.
+ * Updates wait for running queries to finish. Visitors must not update the grid they are visiting.
+ */
+public final class SpatialHashGrid {
+    private static final int NONE = -1;
+
+    private final double cellSize;
+    private final StampedLock lock = new StampedLock();
+
+    // Per id.
+    private double[] xs = new double[0], ys = new double[0];
+    private long[] cells = new long[0];
+    private int[] next = new int[0], previous = new int[0];
+    private boolean[] present = new boolean[0];
+    private int size;
+
+    // Open addressing map from cell key to the first id in the cell, NONE marking empty slots.
+    private long[] keys = new long[16];
+    private int[] heads = filled(16);
+    private int occupiedCells;
+
+    /**
+     * Constructs a new, empty SpatialHashGrid.
+     * @param cellSize The side length of a cell, ideally around the typical query radius
+     */
+    public SpatialHashGrid(double cellSize) {
+        if (!(cellSize > 0) || Double.isInfinite(cellSize)) throw new IllegalArgumentException("Cell size must be positive and finite: " + cellSize);
+        this.cellSize = cellSize;
+    }
+
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    public int size() {
+        final long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public boolean contains(int id) {
+        final long stamp = lock.readLock();
+        try {
+            return id >= 0 && id < present.length && present[id];
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Gets the position of a point.
+     * @param id The id of the point
+     * @return The position
+     */
+    public Double2 get(int id) {
+        final long stamp = lock.readLock();
+        try {
+            checkPresent(id);
+            return Double2.of(xs[id], ys[id]);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Adds a point.
+     * @param id The id of the point, not in the grid yet
+     * @param x The x coordinate
+     * @param y The y coordinate
+     */
+    public void insert(int id, double x, double y) {
+        if (id < 0) throw new IllegalArgumentException("Id must not be negative: " + id);
+        checkFinite(x, y);
+        final long stamp = lock.writeLock();
+        try {
+            if (id >= present.length) grow(id + 1);
+            if (present[id]) throw new IllegalArgumentException("Id " + id + " is already in the grid");
+            present[id] = true;
+            xs[id] = x;
+            ys[id] = y;
+            link(id, key(x, y));
+            size++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void insert(int id, Double2 position) {
+        insert(id, position.getX(), position.getY());
+    }
+
+    /**
+     * Moves a point. Only touches the cell lists if the point changes cells.
+     * @param id The id of the point
+     * @param x The new x coordinate
+     * @param y The new y coordinate
+     */
+    public void move(int id, double x, double y) {
+        checkFinite(x, y);
+        final long stamp = lock.writeLock();
+        try {
+            checkPresent(id);
+            xs[id] = x;
+            ys[id] = y;
+            final long key = key(x, y);
+            if (key == cells[id]) return;
+            unlink(id);
+            link(id, key);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void move(int id, Double2 position) {
+        move(id, position.getX(), position.getY());
+    }
+
+    /**
+     * Removes a point.
+     * @param id The id of the point
+     * @return Whether the point was in the grid
+     */
+    public boolean remove(int id) {
+        final long stamp = lock.writeLock();
+        try {
+            if (id < 0 || id >= present.length || !present[id]) return false;
+            unlink(id);
+            present[id] = false;
+            size--;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void clear() {
+        final long stamp = lock.writeLock();
+        try {
+            Arrays.fill(present, false);
+            Arrays.fill(heads, NONE);
+            size = 0;
+            occupiedCells = 0;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Visits every point within <code>radius</code> of <code>(x, y)</code>, inclusive.
+     * @param visitor Receives the id of each point, in no particular order
+     */
+    public void queryRadius(double x, double y, double radius, IntConsumer visitor) {
+        final long stamp = lock.readLock();
+        try {
+            visit(cell(x - radius), cell(y - radius), cell(x + radius), cell(y + radius), true, x, y, radius * radius, 0, visitor);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public void queryRadius(Double2 center, double radius, IntConsumer visitor) {
+        queryRadius(center.getX(), center.getY(), radius, visitor);
+    }
+
+    /**
+     * Visits every point inside the rectangle, inclusive.
+     * @param visitor Receives the id of each point, in no particular order
+     */
+    public void queryRectangle(double minX, double minY, double maxX, double maxY, IntConsumer visitor) {
+        final long stamp = lock.readLock();
+        try {
+            visit(cell(minX), cell(minY), cell(maxX), cell(maxY), false, minX, minY, maxX, maxY, visitor);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Finds the <code>k</code> points closest to <code>(x, y)</code>, searching rings of cells outwards.
+     * @param k The number of points to find
+     * @param ids The array to write the ids to, closest first, at least <code>k</code> long
+     * @param squareDistances The array to write the matching squared distances to, at least <code>k</code> long
+     * @return The number of points found, less than <code>k</code> only if the grid holds fewer points
+     */
+    public int nearest(double x, double y, int k, int[] ids, double[] squareDistances) {
+        if (k < 0 || ids.length < k || squareDistances.length < k)
+            throw new IllegalArgumentException("Cannot write " + k + " results into arrays of length " + ids.length + " and " + squareDistances.length);
+        final long stamp = lock.readLock();
+        try {
+            if (k == 0 || size == 0) return 0;
+            final int cx = cell(x), cy = cell(y);
+            int found = 0;
+            for (long ring = 0; ; ring++) {
+                // Once the rings cover far more cells than are occupied, scanning every point is cheaper.
+                final double blockCells = (2d * ring + 1) * (2d * ring + 1);
+                if (blockCells > 4d * occupiedCells + 16) return nearestByScan(x, y, k, ids, squareDistances);
+
+                for (long i = cx - ring; i <= cx + ring; i++) {
+                    final boolean edgeColumn = i == cx - ring || i == cx + ring;
+                    for (long j = cy - ring; j <= cy + ring; j += edgeColumn || ring == 0 ? 1 : 2 * ring) {
+                        if (i < Integer.MIN_VALUE || i > Integer.MAX_VALUE || j < Integer.MIN_VALUE || j > Integer.MAX_VALUE) continue;
+                        for (int id = head(key((int) i, (int) j)); id != NONE; id = next[id]) {
+                            found = offer(id, squareDistance(id, x, y), k, found, ids, squareDistances);
+                        }
+                    }
+                }
+
+                // Points outside the block of searched cells are at least this far away.
+                final double reach = Math.min(
+                        Math.min(x - (cx - ring) * cellSize, (cx + ring + 1) * cellSize - x),
+                        Math.min(y - (cy - ring) * cellSize, (cy + ring + 1) * cellSize - y));
+                if (found == k && reach > 0 && squareDistances[k - 1] <= reach * reach) return found;
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int nearest(Double2 point, int k, int[] ids, double[] squareDistances) {
+        return nearest(point.getX(), point.getY(), k, ids, squareDistances);
+    }
+
+    private int nearestByScan(double x, double y, int k, int[] ids, double[] squareDistances) {
+        int found = 0;
+        for (int id = 0; id < present.length; id++) {
+            if (present[id]) found = offer(id, squareDistance(id, x, y), k, found, ids, squareDistances);
+        }
+        return found;
+    }
+
+    // Inserts into the sorted results, dropping the farthest once there are k of them.
+    private static int offer(int id, double squareDistance, int k, int found, int[] ids, double[] squareDistances) {
+        if (found == k && squareDistance >= squareDistances[k - 1]) return found;
+        int index = found == k ? k - 1 : found++;
+        while (index > 0 && squareDistances[index - 1] > squareDistance) {
+            ids[index] = ids[index - 1];
+            squareDistances[index] = squareDistances[index - 1];
+            index--;
+        }
+        ids[index] = id;
+        squareDistances[index] = squareDistance;
+        return found;
+    }
+
+    private double squareDistance(int id, double x, double y) {
+        final double dx = xs[id] - x, dy = ys[id] - y;
+        return dx * dx + dy * dy;
+    }
+
+    // Circles are given as (ax, ay) with squared radius bx, rectangles as (ax, ay) to (bx, by).
+    private void visit(int minCx, int minCy, int maxCx, int maxCy, boolean circle, double ax, double ay, double bx, double by, IntConsumer visitor) {
+        if (minCx > maxCx || minCy > maxCy) return;
+        final double rangeCells = ((double) maxCx - minCx + 1) * ((double) maxCy - minCy + 1);
+        if (rangeCells > occupiedCells) {
+            // Fewer occupied cells than cells in range, walk the occupied ones instead.
+            for (int slot = 0; slot < heads.length; slot++) {
+                if (heads[slot] == NONE) continue;
+                final int cx = (int) (keys[slot] >> 32), cy = (int) keys[slot];
+                if (cx >= minCx && cx <= maxCx && cy >= minCy && cy <= maxCy) visitCell(heads[slot], circle, ax, ay, bx, by, visitor);
+            }
+            return;
+        }
+        for (long cy = minCy; cy <= maxCy; cy++) {
+            for (long cx = minCx; cx <= maxCx; cx++) visitCell(head(key((int) cx, (int) cy)), circle, ax, ay, bx, by, visitor);
+        }
+    }
+
+    private void visitCell(int head, boolean circle, double ax, double ay, double bx, double by, IntConsumer visitor) {
+        for (int id = head; id != NONE; id = next[id]) {
+            final double x = xs[id], y = ys[id];
+            final boolean inside = circle
+                    ? (x - ax) * (x - ax) + (y - ay) * (y - ay) <= bx
+                    : x >= ax && x <= bx && y >= ay && y <= by;
+            if (inside) visitor.accept(id);
+        }
+    }
+
+    private int cell(double coordinate) {
+        // Divided rather than multiplied by the inverse, which rounds differently on cell boundaries.
+        final long cell = MathUtil.fastFloor(coordinate / cellSize);
+        // Points beyond the int range share the outermost cells, queries still check their real positions.
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, cell));
+    }
+
+    private long key(double x, double y) {
+        return key(cell(x), cell(y));
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+
+    private int home(long key) {
+        return (int) MathUtil.mix64(key) & (keys.length - 1);
+    }
+
+    private int slot(long key) {
+        final int mask = keys.length - 1;
+        int slot = home(key);
+        while (heads[slot] != NONE && keys[slot] != key) slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    private int head(long key) {
+        return heads[slot(key)];
+    }
+
+    private void link(int id, long key) {
+        cells[id] = key;
+        previous[id] = NONE;
+        int slot = slot(key);
+        if (heads[slot] == NONE) {
+            if (2 * (occupiedCells + 1) > keys.length) {
+                rehash(keys.length * 2);
+                slot = slot(key);
+            }
+            keys[slot] = key;
+            occupiedCells++;
+            next[id] = NONE;
+        } else {
+            next[id] = heads[slot];
+            previous[heads[slot]] = id;
+        }
+        heads[slot] = id;
+    }
+
+    private void unlink(int id) {
+        if (next[id] != NONE) previous[next[id]] = previous[id];
+        if (previous[id] != NONE) {
+            next[previous[id]] = next[id];
+            return;
+        }
+        final int slot = slot(cells[id]);
+        heads[slot] = next[id];
+        if (heads[slot] == NONE) deleteSlot(slot);
+    }
+
+    // Linear probing deletion, shifting later entries of the probe sequence back into the hole.
+    private void deleteSlot(int hole) {
+        final int mask = keys.length - 1;
+        for (int slot = (hole + 1) & mask; heads[slot] != NONE; slot = (slot + 1) & mask) {
+            if (((slot - home(keys[slot])) & mask) >= ((slot - hole) & mask)) {
+                keys[hole] = keys[slot];
+                heads[hole] = heads[slot];
+                hole = slot;
+            }
+        }
+        heads[hole] = NONE;
+        occupiedCells--;
+    }
+
+    private void rehash(int capacity) {
+        final long[] oldKeys = keys;
+        final int[] oldHeads = heads;
+        keys = new long[capacity];
+        heads = filled(capacity);
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldHeads[slot] == NONE) continue;
+            final int newSlot = slot(oldKeys[slot]);
+            keys[newSlot] = oldKeys[slot];
+            heads[newSlot] = oldHeads[slot];
+        }
+    }
+
+    private void grow(int minimum) {
+        final int capacity = Math.max(minimum, Math.max(16, present.length + (present.length >> 1)));
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        cells = Arrays.copyOf(cells, capacity);
+        next = Arrays.copyOf(next, capacity);
+        previous = Arrays.copyOf(previous, capacity);
+        present = Arrays.copyOf(present, capacity);
+    }
+
+    private void checkPresent(int id) {
+        if (id < 0 || id >= present.length || !present[id]) throw new IllegalArgumentException("Id " + id + " is not in the grid");
+    }
+
+    private static void checkFinite(double x, double y) {
+        if (!Double.isFinite(x) || !Double.isFinite(y)) throw new IllegalArgumentException("Position must be finite: (" + x + ", " + y + ")");
+    }
+
+    private static int[] filled(int length) {
+        final int[] array = new int[length];
+        Arrays.fill(array, NONE);
+        return array;
+    }
+}
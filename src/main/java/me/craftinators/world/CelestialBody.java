@@ -0,0 +1,58 @@
+package me.craftinators.world;
+
+import me.craftinators.generation.Seedable;
+import me.craftinators.math.Double2;
+
+/**
+ * Represents an immutable body in a {@link Sector}, such as a star or an asteroid.
+ * Every body has its own seed, split off from the sector seed, to generate its details from.
+ */
+public final class CelestialBody implements Seedable {
+    public enum Type {
+        STAR,
+        PLANET,
+        ASTEROID
+    }
+
+    private final Type type;
+    private final Double2 position;
+    private final double radius;
+    private final long seed;
+
+    /**
+     * Constructs a new CelestialBody.
+     * @param type The type
+     * @param position The position of the center, in world coordinates
+     * @param radius The radius, not negative
+     * @param seed The seed to generate details from
+     */
+    public CelestialBody(Type type, Double2 position, double radius, long seed) {
+        if (!(radius >= 0)) throw new IllegalArgumentException("Radius must not be negative: " + radius);
+        this.type = type;
+        this.position = position;
+        this.radius = radius;
+        this.seed = seed;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Double2 getPosition() {
+        return position;
+    }
+
+    public double getRadius() {
+        return radius;
+    }
+
+    @Override
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public String toString() {
+        return type + " at " + position + " with radius " + radius;
+    }
+}
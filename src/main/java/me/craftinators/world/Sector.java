@@ -0,0 +1,62 @@
+package me.craftinators.world;
+
+import me.craftinators.generation.Seedable;
+import me.craftinators.math.Long2;
+
+import java.util.List;
+
+/**
+ * Represents an immutable square region of the {@link World}, generated entirely from its own seed.
+ */
+public final class Sector implements Seedable {
+    public enum Type {
+        EMPTY,
+        STAR_SYSTEM,
+        ASTEROID_FIELD
+    }
+
+    private final Long2 coordinate;
+    private final long seed;
+    private final Type type;
+    private final List<CelestialBody> bodies;
+
+    /**
+     * Constructs a new Sector.
+     * @param coordinate The sector coordinate
+     * @param seed The seed the sector was generated from
+     * @param type The type
+     * @param bodies The bodies in the sector, copied
+     */
+    public Sector(Long2 coordinate, long seed, Type type, List<CelestialBody> bodies) {
+        this.coordinate = coordinate;
+        this.seed = seed;
+        this.type = type;
+        this.bodies = List.copyOf(bodies);
+    }
+
+    public Long2 getCoordinate() {
+        return coordinate;
+    }
+
+    @Override
+    public long getSeed() {
+        return seed;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Gets the bodies in the sector.
+     * @return An unmodifiable list of the bodies
+     */
+    public List<CelestialBody> getBodies() {
+        return bodies;
+    }
+
+    @Override
+    public String toString() {
+        return type + " sector " + coordinate + " with " + bodies.size() + " bodies";
+    }
+}
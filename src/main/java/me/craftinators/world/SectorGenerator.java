@@ -0,0 +1,20 @@
+package me.craftinators.world;
+
+import me.craftinators.math.Long2;
+
+/**
+ * Generates the contents of a {@link Sector}.
+ * Implementations must depend on nothing but their arguments, so that a sector comes out the same
+ * no matter when, on which thread, or in which order it is generated.
+ */
+@FunctionalInterface
+public interface SectorGenerator {
+    /**
+     * Generates a sector.
+     * @param coordinate The sector coordinate
+     * @param seed The sector seed, derived from the world seed and the coordinate
+     * @param size The length of each side of the sector, which starts at <code>coordinate * size</code>
+     * @return The sector
+     */
+    Sector generate(Long2 coordinate, long seed, double size);
+}
@@ -0,0 +1,79 @@
+package me.craftinators.world;
+
+import me.craftinators.generation.SeedGenerator;
+import me.craftinators.math.Double2;
+import me.craftinators.math.Long2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generates sectors that are empty, a star with orbiting planets, or a field of asteroids.
+ * Body <code>i</code> of a sector gets the seed <code>SeedGenerator.derive(sectorSeed, i, 0)</code>.
+ */
+public final class StandardSectorGenerator implements SectorGenerator {
+    private static final int MAX_PLANETS = 8, MIN_ASTEROIDS = 20, MAX_ASTEROIDS = 200;
+
+    private final double starSystemChance, asteroidFieldChance;
+
+    /**
+     * Constructs a new StandardSectorGenerator.
+     * @param starSystemChance The chance of a sector being a star system
+     * @param asteroidFieldChance The chance of a sector being an asteroid field
+     */
+    public StandardSectorGenerator(double starSystemChance, double asteroidFieldChance) {
+        if (!(starSystemChance >= 0) || !(asteroidFieldChance >= 0) || starSystemChance + asteroidFieldChance > 1)
+            throw new IllegalArgumentException("Chances must be non-negative and add up to at most 1: " + starSystemChance + ", " + asteroidFieldChance);
+        this.starSystemChance = starSystemChance;
+        this.asteroidFieldChance = asteroidFieldChance;
+    }
+
+    public double getStarSystemChance() {
+        return starSystemChance;
+    }
+
+    public double getAsteroidFieldChance() {
+        return asteroidFieldChance;
+    }
+
+    @Override
+    public Sector generate(Long2 coordinate, long seed, double size) {
+        final SplittableRandom random = new SplittableRandom(seed);
+        final Double2 origin = Double2.of(coordinate.getX() * size, coordinate.getY() * size);
+        final double roll = random.nextDouble();
+        if (roll < starSystemChance) return new Sector(coordinate, seed, Sector.Type.STAR_SYSTEM, starSystem(random, seed, origin, size));
+        if (roll < starSystemChance + asteroidFieldChance) return new Sector(coordinate, seed, Sector.Type.ASTEROID_FIELD, asteroidField(random, seed, origin, size));
+        return new Sector(coordinate, seed, Sector.Type.EMPTY, List.of());
+    }
+
+    private static List<CelestialBody> starSystem(SplittableRandom random, long seed, Double2 origin, double size) {
+        final List<CelestialBody> bodies = new ArrayList<>();
+        final Double2 center = origin.add(size * random.nextDouble(0.4, 0.6), size * random.nextDouble(0.4, 0.6));
+        final double starRadius = size * random.nextDouble(0.01, 0.03);
+        bodies.add(new CelestialBody(CelestialBody.Type.STAR, center, starRadius, SeedGenerator.derive(seed, 0, 0)));
+
+        // Orbits widen geometrically and stay clear of the sector edges.
+        final int planets = random.nextInt(MAX_PLANETS + 1);
+        double orbit = starRadius * random.nextDouble(2, 4);
+        for (int i = 0; i < planets; i++) {
+            orbit *= random.nextDouble(1.4, 2);
+            if (orbit > size * 0.35) break;
+            final Double2 position = center.add(Double2.fromPolar(orbit, random.nextDouble(2 * Math.PI)));
+            bodies.add(new CelestialBody(CelestialBody.Type.PLANET, position, size * random.nextDouble(0.002, 0.008), SeedGenerator.derive(seed, bodies.size(), 0)));
+        }
+        return bodies;
+    }
+
+    private static List<CelestialBody> asteroidField(SplittableRandom random, long seed, Double2 origin, double size) {
+        final Double2 center = origin.add(size * random.nextDouble(0.3, 0.7), size * random.nextDouble(0.3, 0.7));
+        final double fieldRadius = size * random.nextDouble(0.1, 0.2);
+        final int asteroids = random.nextInt(MIN_ASTEROIDS, MAX_ASTEROIDS + 1);
+        final List<CelestialBody> bodies = new ArrayList<>(asteroids);
+        for (int i = 0; i < asteroids; i++) {
+            final Double2 position = center.add(Double2.randomInCircle(random, fieldRadius));
+            bodies.add(new CelestialBody(CelestialBody.Type.ASTEROID, position, size * random.nextDouble(0.0002, 0.001), SeedGenerator.derive(seed, i, 0)));
+        }
+        return bodies;
+    }
+}
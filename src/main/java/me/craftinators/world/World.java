@@ -0,0 +1,180 @@
+package me.craftinators.world;
+
+import me.craftinators.generation.SeedGenerator;
+import me.craftinators.generation.Seedable;
+import me.craftinators.math.Double2;
+import me.craftinators.math.Long2;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Infinite grid of {@link Sector}s, each generated the first time it is accessed.
+ * Sector <code>(x, y)</code> is generated from the seed <code>SeedGenerator.derive(worldSeed, x, y)</code> alone,
+ * so any sector can be generated independently of its neighbours, on any thread, and always comes out the same.
+ * <p>
+ * Loaded sectors are only softly referenced: once nothing else holds on to a sector, the garbage collector may
+ * evict it under memory pressure, and it is generated again on its next access.
+ * Concurrent requests for the same sector wait on a single generation.
+ */
+public final class World implements Seedable {
+    private static final class SectorReference extends SoftReference<Sector> {
+        private final Long2 coordinate;
+
+        private SectorReference(Sector sector, ReferenceQueue<Sector> queue) {
+            super(sector, queue);
+            this.coordinate = sector.getCoordinate();
+        }
+    }
+
+    private final long seed;
+    private final double sectorSize;
+    private final SectorGenerator generator;
+    private final Map<Long2, SectorReference> sectors = new ConcurrentHashMap<>();
+    private final Map<Long2, CompletableFuture<Sector>> generating = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Sector> evicted = new ReferenceQueue<>();
+    private final LongAdder generated = new LongAdder();
+
+    /**
+     * Constructs a new World. Nothing is generated until a sector is accessed.
+     * @param seed The world seed, such as the {@link me.craftinators.Game} seed
+     * @param sectorSize The length of each side of a sector
+     * @param generator Generates the contents of each sector
+     */
+    public World(long seed, double sectorSize, SectorGenerator generator) {
+        if (!(sectorSize > 0) || Double.isInfinite(sectorSize)) throw new IllegalArgumentException("Sector size must be positive and finite: " + sectorSize);
+        this.seed = seed;
+        this.sectorSize = sectorSize;
+        this.generator = generator;
+    }
+
+    @Override
+    public long getSeed() {
+        return seed;
+    }
+
+    public double getSectorSize() {
+        return sectorSize;
+    }
+
+    public SectorGenerator getGenerator() {
+        return generator;
+    }
+
+    /**
+     * Gets the seed a sector is generated from.
+     * @param coordinate The sector coordinate
+     * @return The sector seed
+     */
+    public long getSectorSeed(Long2 coordinate) {
+        return SeedGenerator.derive(seed, coordinate.getX(), coordinate.getY());
+    }
+
+    /**
+     * Gets the coordinate of the sector containing a position.
+     * @param position The position, in world coordinates
+     * @return The sector coordinate
+     */
+    public Long2 getSectorCoordinate(Double2 position) {
+        return position.divide(sectorSize).floor();
+    }
+
+    /**
+     * Gets a sector, generating it on the calling thread if it is not loaded.
+     * If another thread is already generating the sector, waits for it instead.
+     * @param coordinate The sector coordinate
+     * @return The sector
+     */
+    public Sector getSector(Long2 coordinate) {
+        expungeEvicted();
+        Sector sector = getLoadedSector(coordinate);
+        if (sector != null) return sector;
+
+        final CompletableFuture<Sector> generation = new CompletableFuture<>();
+        final CompletableFuture<Sector> existing = generating.putIfAbsent(coordinate, generation);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException exception) {
+                // The generating thread has already given up on the sector, try generating it again.
+                return getSector(coordinate);
+            }
+        }
+
+        try {
+            // Another thread may have finished the sector between the lookup and claiming it.
+            sector = getLoadedSector(coordinate);
+            if (sector == null) {
+                sector = generator.generate(coordinate, getSectorSeed(coordinate), sectorSize);
+                sectors.put(coordinate, new SectorReference(sector, evicted));
+                generated.increment();
+            }
+        } catch (RuntimeException | Error exception) {
+            generation.completeExceptionally(exception);
+            throw exception;
+        } finally {
+            generating.remove(coordinate, generation);
+        }
+        generation.complete(sector);
+        return sector;
+    }
+
+    /**
+     * Gets the sector containing a position, generating it if it is not loaded.
+     * @param position The position, in world coordinates
+     * @return The sector
+     */
+    public Sector getSector(Double2 position) {
+        return getSector(getSectorCoordinate(position));
+    }
+
+    /**
+     * Gets a sector, generating it on the given executor if it is not loaded.
+     * @param coordinate The sector coordinate
+     * @param executor The executor to generate on
+     * @return A future completing with the sector
+     */
+    public CompletableFuture<Sector> getSectorAsync(Long2 coordinate, Executor executor) {
+        final Sector sector = getLoadedSector(coordinate);
+        if (sector != null) return CompletableFuture.completedFuture(sector);
+        return CompletableFuture.supplyAsync(() -> getSector(coordinate), executor);
+    }
+
+    /**
+     * Gets a sector if it is loaded.
+     * @param coordinate The sector coordinate
+     * @return The sector, or <code>null</code> if it was never generated or has been evicted
+     */
+    public Sector getLoadedSector(Long2 coordinate) {
+        final SectorReference reference = sectors.get(coordinate);
+        return reference == null ? null : reference.get();
+    }
+
+    /**
+     * Gets the number of loaded sectors, including sectors evicted since the last access that have not been removed yet.
+     * @return The number of loaded sectors
+     */
+    public int getLoadedSectorCount() {
+        expungeEvicted();
+        return sectors.size();
+    }
+
+    /**
+     * Gets the number of times a sector has been generated, including sectors generated again after being evicted.
+     * @return The number of generated sectors
+     */
+    public long getGeneratedSectorCount() {
+        return generated.sum();
+    }
+
+    private void expungeEvicted() {
+        SectorReference reference;
+        while ((reference = (SectorReference) evicted.poll()) != null) sectors.remove(reference.coordinate, reference);
+    }
+}
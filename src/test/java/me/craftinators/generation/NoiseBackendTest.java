@@ -0,0 +1,67 @@
+package me.craftinators.generation;
+
+import me.craftinators.math.Long2;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the {@link NoiseBackend#VECTOR} region fill against the scalar {@link SuperSimplexNoiseGenerator#fillGrid}.
+ */
+class NoiseBackendTest {
+    // A width that is not a multiple of any vector length, so the scalar tail of each row is covered too.
+    private static final int WIDTH = 101, HEIGHT = 37, OFFSET = 3, STRIDE = WIDTH + 5;
+    private static final double ORIGIN_X = -517.75, ORIGIN_Y = 2093.125, STEP_X = 0.061, STEP_Y = 0.093;
+
+    static List<Long> seeds() {
+        return List.of(0L, 1L, 0x5EEDL, -8682522807148012L, Long.MAX_VALUE);
+    }
+
+    @Test
+    void vectorIsAvailable() {
+        // The tests run with the incubator module, otherwise the comparisons below only cover the fallback.
+        assertTrue(NoiseBackend.VECTOR.isAvailable());
+        assertSame(NoiseBackend.VECTOR, NoiseBackend.getFastest());
+    }
+
+    @ParameterizedTest(name = "seed {0}")
+    @MethodSource("seeds")
+    void vectorFillIsWithinTolerance(long seed) {
+        final SuperSimplexNoiseGenerator generator = new SuperSimplexNoiseGenerator(seed);
+        final double[] expected = new double[OFFSET + HEIGHT * STRIDE];
+        final double[] actual = new double[expected.length];
+        generator.fillGrid(expected, OFFSET, STRIDE, ORIGIN_X, ORIGIN_Y, STEP_X, STEP_Y, WIDTH, HEIGHT);
+        NoiseBackend.VECTOR.fillGrid(generator, actual, OFFSET, STRIDE, ORIGIN_X, ORIGIN_Y, STEP_X, STEP_Y, WIDTH, HEIGHT);
+
+        for (int index = 0; index < expected.length; index++)
+            assertEquals(expected[index], actual[index], NoiseBackend.VECTOR_TOLERANCE, "Sample " + index);
+    }
+
+    @Test
+    void vectorFallsBackToScalarForTableGradients() {
+        final SuperSimplexNoiseGenerator generator = new SuperSimplexNoiseGenerator(0x5EED, GradientMode.TABLE);
+        final double[] expected = new double[WIDTH * HEIGHT];
+        final double[] actual = new double[expected.length];
+        generator.fillGrid(expected, ORIGIN_X, ORIGIN_Y, STEP_X, WIDTH, HEIGHT);
+        NoiseBackend.VECTOR.fillGrid(generator, actual, 0, WIDTH, ORIGIN_X, ORIGIN_Y, STEP_X, STEP_X, WIDTH, HEIGHT);
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    void serviceFillsTilesWithItsBackend() throws Exception {
+        final SuperSimplexNoiseGenerator generator = new SuperSimplexNoiseGenerator(0x5EED);
+        try (ChunkGenerationService scalar = new ChunkGenerationService(generator, 48, 0.05, 2, 4, null, null, NoiseBackend.SCALAR);
+             ChunkGenerationService vector = new ChunkGenerationService(generator, 48, 0.05, 2, 4, null, null, NoiseBackend.VECTOR)) {
+            assertSame(NoiseBackend.VECTOR, vector.getBackend());
+            final Long2 coordinate = Long2.of(-3, 7);
+            final NoiseTile expected = scalar.generate(coordinate), actual = vector.generate(coordinate);
+            for (int j = 0; j < 48; j++) {
+                for (int i = 0; i < 48; i++) assertEquals(expected.get(i, j), actual.get(i, j), NoiseBackend.VECTOR_TOLERANCE, "Sample " + i + ", " + j);
+            }
+        }
+    }
+}
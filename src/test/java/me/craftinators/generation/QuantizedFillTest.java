@@ -0,0 +1,97 @@
+package me.craftinators.generation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the float and 16-bit region fills of {@link SuperSimplexNoiseGenerator} against the double fill.
+ */
+class QuantizedFillTest {
+    private static final long[] SEEDS = {0, 1, 0x5EED, -8682522807148012L};
+    private static final int WIDTH = 96, HEIGHT = 64, OFFSET = 5, STRIDE = WIDTH + 3;
+    private static final double ORIGIN_X = -317.25, ORIGIN_Y = 1021.5, STEP_X = 0.07, STEP_Y = 0.045;
+
+    static List<Arguments> generators() {
+        final List<Arguments> generators = new ArrayList<>();
+        for (long seed : SEEDS) {
+            for (GradientMode mode : GradientMode.values()) {
+                generators.add(Arguments.of("simplex " + seed + " " + mode, new SuperSimplexNoiseGenerator(seed, mode)));
+                generators.add(Arguments.of("ridged " + seed + " " + mode, new LayeredNoiseGenerator(seed, 6, 2, 0.5, LayeredNoiseGenerator.Type.RIDGED, mode)));
+            }
+        }
+        return generators;
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("generators")
+    void floatFillIsDoubleFillRoundedOnce(String name, SuperSimplexNoiseGenerator generator) {
+        final double[] expected = fillDouble(generator);
+        final float[] actual = new float[expected.length];
+        generator.fillGrid(actual, OFFSET, STRIDE, ORIGIN_X, ORIGIN_Y, STEP_X, STEP_Y, WIDTH, HEIGHT);
+
+        for (int index = 0; index < expected.length; index++) {
+            if (!inRegion(index)) {
+                assertEquals(0f, actual[index], "Wrote outside the region at " + index);
+                continue;
+            }
+            assertEquals((float) expected[index], actual[index], "Sample " + index);
+            // Documented bound: off by at most half an ulp.
+            assertTrue(Math.abs(actual[index] - expected[index]) <= Math.ulp(actual[index]) / 2, "Sample " + index + " is off by more than half an ulp");
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("generators")
+    void shortFillIsWithinHalfAStep(String name, SuperSimplexNoiseGenerator generator) {
+        final QuantizationRange range = QuantizationRange.NOISE;
+        final double[] expected = fillDouble(generator);
+        final short[] actual = new short[expected.length];
+        generator.fillGrid(actual, range, OFFSET, STRIDE, ORIGIN_X, ORIGIN_Y, STEP_X, STEP_Y, WIDTH, HEIGHT);
+
+        // Documented bound: off by at most half a step, allowing for rounding in dequantize.
+        final double bound = range.getStep() / 2 * (1 + 1e-9);
+        for (int index = 0; index < expected.length; index++) {
+            if (!inRegion(index)) {
+                assertEquals(0, actual[index], "Wrote outside the region at " + index);
+                continue;
+            }
+            assertEquals(range.quantize(expected[index]), actual[index], "Sample " + index);
+            assertTrue(Math.abs(range.dequantize(actual[index]) - expected[index]) <= bound, "Sample " + index + " is off by more than half a step");
+        }
+    }
+
+    @Test
+    void quantizationClampsToRange() {
+        final QuantizationRange range = QuantizationRange.of(-2, 6);
+        assertEquals(Short.MIN_VALUE, range.quantize(-2));
+        assertEquals(Short.MAX_VALUE, range.quantize(6));
+        assertEquals(Short.MIN_VALUE, range.quantize(-100));
+        assertEquals(Short.MAX_VALUE, range.quantize(100));
+        assertEquals(-2, range.dequantize(Short.MIN_VALUE));
+        assertEquals(6, range.dequantize(Short.MAX_VALUE), 1e-12);
+    }
+
+    @Test
+    void emptyRangeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> QuantizationRange.of(1, 1));
+        assertThrows(IllegalArgumentException.class, () -> QuantizationRange.of(0, Double.POSITIVE_INFINITY));
+    }
+
+    private static double[] fillDouble(SuperSimplexNoiseGenerator generator) {
+        final double[] out = new double[OFFSET + (HEIGHT - 1) * STRIDE + WIDTH + 7];
+        generator.fillGrid(out, OFFSET, STRIDE, ORIGIN_X, ORIGIN_Y, STEP_X, STEP_Y, WIDTH, HEIGHT);
+        return out;
+    }
+
+    private static boolean inRegion(int index) {
+        final int relative = index - OFFSET;
+        return relative >= 0 && relative / STRIDE < HEIGHT && relative % STRIDE < WIDTH;
+    }
+}